@@ -4,24 +4,57 @@ import com.demo.springboot.employee.constant.StatusConstants;
 import com.demo.springboot.employee.converter.RegisterEmployeeRequestToEmployeeConverter;
 import com.demo.springboot.employee.converter.UpdateEmployeeRequestToEmployeeEntityConverter;
 import com.demo.springboot.employee.domain.Employee;
+import com.demo.springboot.employee.domain.EmployeeVersion;
+import com.demo.springboot.employee.domain.EmployeeView;
 import com.demo.springboot.employee.exception.ComponentException;
+import com.demo.springboot.employee.exception.InvalidRequestException;
 import com.demo.springboot.employee.exception.ServiceException;
+import com.demo.springboot.employee.model.Status;
+import com.demo.springboot.employee.model.request.BulkDeleteEmployeeRequest;
+import com.demo.springboot.employee.model.request.BulkRegisterEmployeeRequest;
+import com.demo.springboot.employee.model.request.EmployeeSearchRequest;
 import com.demo.springboot.employee.model.request.RegisterEmployeeRequest;
 import com.demo.springboot.employee.model.request.UpdateEmployeeRequest;
+import com.demo.springboot.employee.model.response.BulkDeleteEmployeeResponse;
+import com.demo.springboot.employee.model.response.BulkRegisterEmployeeResponse;
 import com.demo.springboot.employee.model.response.EmployeeListResponse;
 import com.demo.springboot.employee.model.response.EmployeeResponse;
+import com.demo.springboot.employee.model.response.RegisterEmployeeResult;
 import com.demo.springboot.employee.service.impl.EmployeeServiceImpl;
+import com.demo.springboot.employee.util.CursorUtils;
+import com.demo.springboot.employee.util.ETagUtils;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 @Component
 public class EmployeeComponent {
 
+    private static final int EXPORT_FLUSH_INTERVAL = 500;
+
     private Logger LOG = LoggerFactory.getLogger(EmployeeComponent.class);
 
     @Autowired
@@ -33,18 +66,48 @@ public class EmployeeComponent {
     @Autowired
     private UpdateEmployeeRequestToEmployeeEntityConverter updateEmployeeRequestToEmployeeEntityConverter;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${employee.pagination.default-page-size:50}")
+    private int defaultPageSize = 50;
+
+    @Value("${employee.pagination.max-page-size:500}")
+    private int maxPageSize = 500;
+
+    @Value("${employee.bulk-register.max-size:5000}")
+    private int maxBulkRegisterSize = 5000;
+
+    @Autowired
+    private Validator validator;
+
     /**
-     * Get active employee list
+     * Get a page of active employee list
+     * Pages are keyset based on id, next_cursor of the response continues the listing
+     * @param employeeSearchRequest
      * @return EmployeeListResponse
      * @see EmployeeListResponse
      * @throws ComponentException
+     * @throws InvalidRequestException
      */
-    public EmployeeListResponse findAllEmployees() {
+    public EmployeeListResponse findAllEmployees(EmployeeSearchRequest employeeSearchRequest) {
+
+        int pageSize = resolvePageSize(employeeSearchRequest.getLimit());
+        Long afterId = CursorUtils.decode(employeeSearchRequest.getCursor());
+        String name = StringUtils.isEmpty(employeeSearchRequest.getName()) ? null : employeeSearchRequest.getName();
+        String roleName = StringUtils.isEmpty(employeeSearchRequest.getRole()) ? null : employeeSearchRequest.getRole();
 
         try {
-            List<Employee> employeeList = employeeServiceImpl.findAll();
+            // one extra row tells whether a next page exists
+            List<EmployeeView> employeeList = employeeServiceImpl.findAll(name, roleName, afterId, pageSize + 1);
+            String nextCursor = null;
+            if (employeeList.size() > pageSize) {
+                employeeList = employeeList.subList(0, pageSize);
+                nextCursor = CursorUtils.encode(employeeList.get(pageSize - 1).getId());
+            }
             EmployeeListResponse employeeListResponse = EmployeeListResponse.builder()
                     .employeeList(employeeList)
+                    .nextCursor(nextCursor)
                     .build();
             return employeeListResponse;
         } catch (Exception e) {
@@ -54,6 +117,77 @@ public class EmployeeComponent {
 
     }
 
+    /**
+     * Get the ETag of the page {@link #findAllEmployees(EmployeeSearchRequest)} returns
+     * Only ids and versions are read, no role is loaded and nothing is serialized
+     * @param employeeSearchRequest
+     * @return
+     * @see ETagUtils#ofPage(List, boolean)
+     * @throws ComponentException
+     * @throws InvalidRequestException
+     */
+    public String findAllEmployeesETag(EmployeeSearchRequest employeeSearchRequest) {
+
+        int pageSize = resolvePageSize(employeeSearchRequest.getLimit());
+        Long afterId = CursorUtils.decode(employeeSearchRequest.getCursor());
+        String name = StringUtils.isEmpty(employeeSearchRequest.getName()) ? null : employeeSearchRequest.getName();
+        String roleName = StringUtils.isEmpty(employeeSearchRequest.getRole()) ? null : employeeSearchRequest.getRole();
+
+        try {
+            List<EmployeeVersion> employeeVersions = employeeServiceImpl.findVersions(name, roleName, afterId, pageSize + 1);
+            boolean hasNext = employeeVersions.size() > pageSize;
+            return ETagUtils.ofPage(hasNext ? employeeVersions.subList(0, pageSize) : employeeVersions, hasNext);
+        } catch (Exception e) {
+            LOG.error("Failed getting the ETag of the employee list with error: {}", e.getMessage(), e);
+            throw new ComponentException(StatusConstants.HttpConstants.CAN_NOT_GET_ALL_EMPLOYEE_LIST);
+        }
+
+    }
+
+    /**
+     * Export employees as newline delimited JSON, one employee per line ordered by id
+     * Rows are streamed from a database cursor and written straight to the output stream
+     * @param afterId resume after this id, null exports from the beginning
+     * @param outputStream
+     * @throws ComponentException
+     */
+    public void exportEmployees(Long afterId, OutputStream outputStream) {
+
+        try {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+            generator.setRootValueSeparator(null);
+            ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            AtomicLong count = new AtomicLong();
+            employeeServiceImpl.exportAll(afterId, employeeSummary -> {
+                try {
+                    writer.writeValue(generator, employeeSummary);
+                    generator.writeRaw('\n');
+                    if (count.incrementAndGet() % EXPORT_FLUSH_INTERVAL == 0) {
+                        generator.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.flush();
+            LOG.info("Exported {} employees after id: {}", count.get(), afterId);
+        } catch (Exception e) {
+            LOG.error("Failed exporting employee list after id: {} with error: {} {}", afterId, e.getMessage(), e);
+            throw new ComponentException(StatusConstants.HttpConstants.FAILED_TO_EXPORT_EMPLOYEE_LIST);
+        }
+
+    }
+
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return defaultPageSize;
+        }
+        if (limit < 1) {
+            throw new InvalidRequestException(StatusConstants.HttpConstants.INVALID_PAGINATION_PARAMETER);
+        }
+        return Math.min(limit, maxPageSize);
+    }
+
     /**
      * Get employee by id
      * @param id
@@ -64,20 +198,20 @@ public class EmployeeComponent {
     public EmployeeResponse findById(Long id) {
 
         try {
-            Optional<Employee> employeeOptional = employeeServiceImpl.findById(id);
+            Optional<EmployeeView> employeeOptional = employeeServiceImpl.findViewById(id);
             if (employeeOptional.isPresent()) {
                 EmployeeResponse employeeResponse = EmployeeResponse.builder()
                         .employee(employeeOptional.get())
                         .build();
                 return employeeResponse;
             } else {
-                LOG.error("Failed getting employee by employee id no found with id: {}", id);
-                throw new ComponentException(StatusConstants.HttpConstants.EMPLOYEE_ID_IS_NOT_FOUND);
+                LOG.debug("Employee is not found with id: {}", id);
+                throw ComponentException.of(StatusConstants.HttpConstants.EMPLOYEE_ID_IS_NOT_FOUND);
             }
         } catch (ComponentException e) {
             throw e;
         } catch (Exception e) {
-            LOG.error("Failed getting employee by id: {}", id);
+            LOG.error("Failed getting employee by id: {} with error: {}", id, e.getMessage(), e);
             throw new ComponentException(StatusConstants.HttpConstants.CAN_NOT_GET_EMPLOYEE_BY_ID);
         }
 
@@ -102,15 +236,147 @@ public class EmployeeComponent {
 
     }
 
+    /**
+     * Register many employees at once
+     * Usernames are checked with one query, passwords are hashed in parallel
+     * and the accepted employees are inserted in one batched transaction
+     * @param bulkRegisterEmployeeRequest
+     * @return one result per requested employee
+     * @see BulkRegisterEmployeeResponse
+     * @throws ComponentException
+     * @throws InvalidRequestException
+     */
+    public BulkRegisterEmployeeResponse bulkRegister(BulkRegisterEmployeeRequest bulkRegisterEmployeeRequest) {
+
+        List<RegisterEmployeeRequest> requests = bulkRegisterEmployeeRequest.getEmployees();
+        if (requests.size() > maxBulkRegisterSize) {
+            throw new InvalidRequestException(StatusConstants.HttpConstants.BULK_REGISTER_LIMIT_EXCEEDED);
+        }
+
+        try {
+            RegisterEmployeeResult[] results = new RegisterEmployeeResult[requests.size()];
+            Map<String, Integer> candidates = new LinkedHashMap<>();
+            for (int index = 0; index < requests.size(); index++) {
+                RegisterEmployeeRequest request = requests.get(index);
+                Set<ConstraintViolation<RegisterEmployeeRequest>> violations = validator.validate(request);
+                if (!violations.isEmpty()) {
+                    results[index] = registerResult(index, request, null, new Status(
+                            StatusConstants.HttpConstants.CUSTOM_FIELD_VALIDATION, violations.iterator().next().getMessage()));
+                } else if (candidates.putIfAbsent(request.getUsername(), index) != null) {
+                    results[index] = registerResult(index, request, null, Status.of(StatusConstants.HttpConstants.USERNAME_IS_ALREADY_EXIST));
+                }
+            }
+
+            Set<String> existingUsernames = employeeServiceImpl.findExistingUsernames(candidates.keySet());
+            List<Integer> accepted = new ArrayList<>();
+            candidates.forEach((username, index) -> {
+                if (existingUsernames.contains(username)) {
+                    results[index] = registerResult(index, requests.get(index), null, Status.of(StatusConstants.HttpConstants.USERNAME_IS_ALREADY_EXIST));
+                } else {
+                    accepted.add(index);
+                }
+            });
+
+            // the password hash dominates the conversion, every index is written by a single thread
+            Employee[] employees = new Employee[requests.size()];
+            accepted.parallelStream().forEach(index -> {
+                try {
+                    employees[index] = registerEmployeeRequestToEmployeeConverter.convert(requests.get(index));
+                } catch (ServiceException e) {
+                    results[index] = registerResult(index, requests.get(index), null, Status.of(e.getStatus()));
+                }
+            });
+            registerAll(accepted.stream()
+                    .map(index -> employees[index])
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList()));
+
+            int registeredCount = 0;
+            for (Integer index : accepted) {
+                if (employees[index] == null) {
+                    continue;
+                }
+                if (employees[index].getId() != null) {
+                    results[index] = registerResult(index, requests.get(index), employees[index].getId(), Status.of(StatusConstants.HttpConstants.SUCCESS));
+                    registeredCount++;
+                } else {
+                    results[index] = registerResult(index, requests.get(index), null, Status.of(StatusConstants.HttpConstants.USERNAME_IS_ALREADY_EXIST));
+                }
+            }
+
+            return BulkRegisterEmployeeResponse.builder()
+                    .registeredCount(registeredCount)
+                    .results(Arrays.asList(results))
+                    .build();
+        } catch (ServiceException e) {
+            throw e;
+        } catch (Exception e) {
+            LOG.error("Failed registering employees with error: {} {}", e.getMessage(), e);
+            throw new ComponentException(StatusConstants.HttpConstants.FAILED_TO_BULK_REGISTER_EMPLOYEES);
+        }
+
+    }
+
+    /**
+     * Insert the employees in one batch
+     * When a username got taken since the check, the batch is rolled back and the employees are registered
+     * one by one, the id of an employee which couldn't be registered is left null
+     * @param employees
+     */
+    private void registerAll(List<Employee> employees) {
+        if (employees.isEmpty()) {
+            return;
+        }
+        try {
+            employeeServiceImpl.registerAll(employees);
+        } catch (ServiceException e) {
+            if (e.getStatus() != StatusConstants.HttpConstants.USERNAME_IS_ALREADY_EXIST) {
+                throw e;
+            }
+            LOG.warn("A username was registered concurrently, registering {} employees one by one", employees.size());
+            for (Employee employee : employees) {
+                // the rolled back persist left an id and a version behind, with either one set save would merge a copy
+                employee.setId(null);
+                employee.setVersion(null);
+                employee.setRoles(new ArrayList<>(employee.getRoles()));
+                try {
+                    employeeServiceImpl.register(employee);
+                } catch (ServiceException registerException) {
+                    employee.setId(null);
+                }
+            }
+        }
+    }
+
+    private RegisterEmployeeResult registerResult(int index, RegisterEmployeeRequest request, Long id, Status status) {
+        return RegisterEmployeeResult.builder()
+                .index(index)
+                .username(request.getUsername())
+                .id(id)
+                .status(status)
+                .build();
+    }
+
     /**
      * Update existing employee
      * @param updateEmployeeRequest
      * @see UpdateEmployeeRequest
      */
     public void update(UpdateEmployeeRequest updateEmployeeRequest) {
+        update(updateEmployeeRequest, null);
+    }
+
+    /**
+     * Update existing employee if it is still at the expected version
+     * @param updateEmployeeRequest
+     * @param expectedVersion optional
+     * @see UpdateEmployeeRequest
+     */
+    public void update(UpdateEmployeeRequest updateEmployeeRequest, Long expectedVersion) {
 
         try {
             Employee employeeEntity = updateEmployeeRequestToEmployeeEntityConverter.convert(updateEmployeeRequest);
+            employeeEntity.setVersion(expectedVersion);
             employeeServiceImpl.update(employeeEntity);
         } catch (ServiceException e) {
             throw e;
@@ -126,16 +392,56 @@ public class EmployeeComponent {
      * @param id
      */
     public void delete(Long id) {
+        delete(id, null);
+    }
+
+    /**
+     * Delete by id if the employee is still at the expected version
+     * @param id
+     * @param expectedVersion optional
+     */
+    public void delete(Long id, Long expectedVersion) {
 
         try {
-            employeeServiceImpl.delete(id);
+            employeeServiceImpl.delete(id, expectedVersion);
         } catch (ServiceException e) {
             throw e;
         } catch (Exception e) {
-            LOG.error("Failed deleting employee by id: {} with error: {} {}", id, e, e.getMessage());
+            LOG.error("Failed deleting employee by id: {} with error: {}", id, e.getMessage(), e);
             throw new ComponentException(StatusConstants.HttpConstants.FAILED_TO_DELETE_EMPLOYEE);
         }
 
     }
 
+    /**
+     * Soft delete the active employees matching the ids, the name prefix and the role of the request
+     * @param bulkDeleteEmployeeRequest
+     * @return BulkDeleteEmployeeResponse
+     * @see BulkDeleteEmployeeRequest
+     * @throws InvalidRequestException when no criterion is supplied
+     * @throws ComponentException
+     */
+    public BulkDeleteEmployeeResponse bulkDelete(BulkDeleteEmployeeRequest bulkDeleteEmployeeRequest) {
+
+        List<Long> ids = bulkDeleteEmployeeRequest.getIds() == null || bulkDeleteEmployeeRequest.getIds().isEmpty()
+                ? null : bulkDeleteEmployeeRequest.getIds();
+        String name = StringUtils.isEmpty(bulkDeleteEmployeeRequest.getName()) ? null : bulkDeleteEmployeeRequest.getName();
+        String roleName = StringUtils.isEmpty(bulkDeleteEmployeeRequest.getRole()) ? null : bulkDeleteEmployeeRequest.getRole();
+        if (ids == null && name == null && roleName == null) {
+            throw new InvalidRequestException(StatusConstants.HttpConstants.BULK_DELETE_CRITERIA_REQUIRED);
+        }
+
+        try {
+            return BulkDeleteEmployeeResponse.builder()
+                    .deletedCount(employeeServiceImpl.deleteAll(ids, name, roleName))
+                    .build();
+        } catch (ServiceException e) {
+            throw e;
+        } catch (Exception e) {
+            LOG.error("Failed deleting employees with error: {} {}", e.getMessage(), e);
+            throw new ComponentException(StatusConstants.HttpConstants.FAILED_TO_BULK_DELETE_EMPLOYEES);
+        }
+
+    }
+
 }
@@ -1,8 +1,11 @@
 package com.demo.springboot.employee.config;
 
+import com.demo.springboot.employee.filter.AccessLogFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
@@ -28,4 +31,16 @@ public class AdditionalWebConfig {
         bean.setOrder(0);
         return bean;
     }
+
+    /**
+     * First in the chain, so requests rejected by the security filters get their access record too
+     */
+    @Bean
+    @ConditionalOnProperty(value = "employee.access-log.enabled", matchIfMissing = true)
+    public FilterRegistrationBean accessLogFilter() {
+        FilterRegistrationBean bean = new FilterRegistrationBean(new AccessLogFilter());
+        bean.addUrlPatterns("/employee-api/v1/*");
+        bean.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return bean;
+    }
 }
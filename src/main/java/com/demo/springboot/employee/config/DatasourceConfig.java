@@ -1,12 +1,14 @@
 package com.demo.springboot.employee.config;
 
+import com.zaxxer.hikari.HikariDataSource;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
-import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
-import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
-import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
 import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.orm.jpa.JpaVendorAdapter;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
@@ -21,25 +23,31 @@ import java.beans.PropertyVetoException;
 
 @Configuration
 @EnableTransactionManagement
+@EnableConfigurationProperties(JpaProperties.class)
 @EnableJpaRepositories(basePackages = "com.demo.springboot.employee")
 public class DatasourceConfig {
 
+    /**
+     * Pooled datasource, url, credentials and driver come from spring.datasource.*,
+     * pool sizing and timeouts from spring.datasource.hikari.*
+     * The schema is created and migrated by flyway
+     * @param dataSourceProperties
+     * @return
+     */
     @Bean
-    public DataSource datasource() throws PropertyVetoException {
-        EmbeddedDatabaseBuilder builder = new EmbeddedDatabaseBuilder();
-        EmbeddedDatabase dataSource = builder
-                .setType(EmbeddedDatabaseType.H2)
-                .addScript("sql-scripts/schema.sql")
-                .addScript("sql-scripts/data.sql")
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource datasource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
                 .build();
-
-        return dataSource;
     }
 
     @Bean
-    public LocalContainerEntityManagerFactoryBean entityManagerFactory(@Qualifier("datasource") DataSource ds) throws PropertyVetoException {
+    public LocalContainerEntityManagerFactoryBean entityManagerFactory(@Qualifier("datasource") DataSource ds, JpaProperties jpaProperties) throws PropertyVetoException {
         LocalContainerEntityManagerFactoryBean entityManagerFactory = new LocalContainerEntityManagerFactoryBean();
         entityManagerFactory.setDataSource(ds);
+        // hibernate settings from spring.jpa.properties.*, e.g. jdbc batching
+        entityManagerFactory.setJpaPropertyMap(jpaProperties.getProperties());
         entityManagerFactory.setPackagesToScan(new String[]{"com.demo.springboot.employee.domain"});
         JpaVendorAdapter jpaVendorAdapter = new HibernateJpaVendorAdapter();
         entityManagerFactory.setJpaVendorAdapter(jpaVendorAdapter);
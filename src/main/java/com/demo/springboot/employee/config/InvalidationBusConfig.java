@@ -0,0 +1,44 @@
+package com.demo.springboot.employee.config;
+
+import com.demo.springboot.employee.invalidation.InMemoryInvalidationBus;
+import com.demo.springboot.employee.invalidation.InvalidationBus;
+import com.demo.springboot.employee.invalidation.MulticastInvalidationBus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+/**
+ * The invalidation bus keeping the employee caches of the nodes coherent
+ * in-memory reaches the application contexts of this JVM only, multicast reaches every node of the local network
+ */
+@Configuration
+public class InvalidationBusConfig {
+
+    @Value("${employee.invalidation-bus.channel:employee}")
+    private String channel;
+
+    @Value("${employee.invalidation-bus.multicast.group:239.255.27.1}")
+    private String multicastGroup;
+
+    @Value("${employee.invalidation-bus.multicast.port:45588}")
+    private int multicastPort;
+
+    @Value("${employee.invalidation-bus.multicast.time-to-live:1}")
+    private int multicastTimeToLive;
+
+    @Bean
+    @ConditionalOnProperty(value = "employee.invalidation-bus.type", havingValue = "in-memory", matchIfMissing = true)
+    public InvalidationBus inMemoryInvalidationBus() {
+        return new InMemoryInvalidationBus(channel);
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "employee.invalidation-bus.type", havingValue = "multicast")
+    public InvalidationBus multicastInvalidationBus() throws IOException {
+        return new MulticastInvalidationBus(multicastGroup, multicastPort, multicastTimeToLive);
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.demo.springboot.employee.config;
+
+import com.demo.springboot.employee.util.VirtualThreadUtils;
+import org.apache.coyote.AbstractProtocol;
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * With employee.request-execution.mode=virtual, Tomcat runs every request on a new virtual thread instead of its worker pool,
+ * so the controller, component, service and repository calls of a request park a virtual thread while they wait on JDBC
+ * and server.tomcat.max-threads no longer caps the requests in progress.
+ * The connection pool is the bound instead: requests beyond spring.datasource.hikari.maximum-pool-size wait for a connection
+ * up to its connection-timeout. Startup fails on a runtime older than Java 21.
+ */
+@Configuration
+@ConditionalOnProperty(value = "employee.request-execution.mode", havingValue = "virtual")
+public class RequestExecutionConfig {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RequestExecutionConfig.class);
+
+    /**
+     * Not a bean, the executor class of the JDK isn't public, so Spring can't call its shutdown reflectively
+     */
+    private final ExecutorService requestExecutor = VirtualThreadUtils.newVirtualThreadPerTaskExecutor("http-virtual-");
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> virtualThreadTomcatCustomizer() {
+        LOG.info("Requests run on virtual threads");
+        return factory -> factory.addConnectorCustomizers(connector -> {
+            ProtocolHandler protocolHandler = connector.getProtocolHandler();
+            if (protocolHandler instanceof AbstractProtocol) {
+                ((AbstractProtocol<?>) protocolHandler).setExecutor(requestExecutor);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        requestExecutor.shutdown();
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.demo.springboot.employee.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Fails the startup when the indexes the queries rely on are missing,
+ * e.g. against a database which wasn't migrated
+ */
+@Component
+@ConditionalOnProperty(value = "employee.schema-validation.enabled", matchIfMissing = true)
+public class SchemaIndexValidator implements SmartInitializingSingleton {
+
+    private Logger LOG = LoggerFactory.getLogger(SchemaIndexValidator.class);
+
+    @Autowired
+    @Qualifier("datasource")
+    private DataSource datasource;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try (Connection connection = datasource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            requireIndex(metaData, "employee", "ux_employee_username", true);
+            requireIndex(metaData, "employee", "ix_employee_active_status_id", false);
+            requirePrimaryKey(metaData, "user_role", "user_id", "role_id");
+            LOG.info("Schema indexes validated");
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed reading the schema metadata", e);
+        }
+    }
+
+    private void requireIndex(DatabaseMetaData metaData, String table, String indexName, boolean unique) throws SQLException {
+        try (ResultSet indexes = metaData.getIndexInfo(null, null, identifier(metaData, table), unique, false)) {
+            while (indexes.next()) {
+                if (indexName.equalsIgnoreCase(indexes.getString("INDEX_NAME"))) {
+                    return;
+                }
+            }
+        }
+        throw new IllegalStateException(String.format("Missing %sindex %s on %s", unique ? "unique " : "", indexName, table));
+    }
+
+    private void requirePrimaryKey(DatabaseMetaData metaData, String table, String... columns) throws SQLException {
+        Set<String> primaryKeyColumns = new HashSet<>();
+        try (ResultSet primaryKeys = metaData.getPrimaryKeys(null, null, identifier(metaData, table))) {
+            while (primaryKeys.next()) {
+                primaryKeyColumns.add(primaryKeys.getString("COLUMN_NAME").toLowerCase());
+            }
+        }
+        if (!primaryKeyColumns.equals(new HashSet<>(Arrays.asList(columns)))) {
+            throw new IllegalStateException(String.format("Missing primary key (%s) on %s", String.join(", ", columns), table));
+        }
+    }
+
+    private String identifier(DatabaseMetaData metaData, String name) throws SQLException {
+        if (metaData.storesUpperCaseIdentifiers()) {
+            return name.toUpperCase();
+        }
+        return metaData.storesLowerCaseIdentifiers() ? name.toLowerCase() : name;
+    }
+
+}
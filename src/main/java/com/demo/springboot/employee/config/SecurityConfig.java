@@ -1,5 +1,12 @@
 package com.demo.springboot.employee.config;
 
+import com.demo.springboot.employee.security.CachingPasswordEncoder;
+import com.demo.springboot.employee.security.CachingResourceServerTokenServices;
+import com.demo.springboot.employee.security.ClaimsDetailsAccessTokenConverter;
+import com.demo.springboot.employee.security.TimedPasswordEncoder;
+import com.demo.springboot.employee.security.TimedResourceServerTokenServices;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -12,7 +19,9 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.provider.token.DefaultTokenServices;
+import org.springframework.security.oauth2.provider.token.ResourceServerTokenServices;
 import org.springframework.security.oauth2.provider.token.TokenStore;
 import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
 import org.springframework.security.oauth2.provider.token.store.JwtTokenStore;
@@ -35,6 +44,18 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     private Integer encodingStrength;
     @Value("${security.security-realm}")
     private String securityRealm;
+    @Value("${security.bcrypt-strength:10}")
+    private Integer bcryptStrength;
+    @Value("${security.password-verification-cache.enabled:false}")
+    private boolean passwordVerificationCacheEnabled;
+    @Value("${security.password-verification-cache.maximum-size:10000}")
+    private long passwordVerificationCacheMaximumSize;
+    @Value("${security.password-verification-cache.expire-after-write-seconds:60}")
+    private long passwordVerificationCacheExpireAfterWriteSeconds;
+    @Value("${security.token-cache.enabled:false}")
+    private boolean tokenCacheEnabled;
+    @Value("${security.token-cache.maximum-size:10000}")
+    private long tokenCacheMaximumSize;
 
     @Bean
     @Override
@@ -43,8 +64,13 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     }
 
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        PasswordEncoder passwordEncoder = new TimedPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength), meterRegistry);
+        if (!passwordVerificationCacheEnabled) {
+            return passwordEncoder;
+        }
+        return new CachingPasswordEncoder(passwordEncoder,
+                passwordVerificationCacheMaximumSize, passwordVerificationCacheExpireAfterWriteSeconds);
     }
 
     @Override
@@ -68,6 +94,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     public JwtAccessTokenConverter accessTokenConverter() {
         JwtAccessTokenConverter converter = new JwtAccessTokenConverter();
         converter.setSigningKey(signingKey);
+        converter.setAccessTokenConverter(new ClaimsDetailsAccessTokenConverter());
         return converter;
     }
 
@@ -85,4 +112,20 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
         defaultTokenServices.setSupportRefreshToken(true);
         return defaultTokenServices;
     }
+
+    /**
+     * Token services of the resource server, verified access tokens are cached until they expire
+     * The verification itself is timed, cache hits don't show up in its timer
+     */
+    @Bean
+    public ResourceServerTokenServices resourceServerTokenServices(MeterRegistry meterRegistry) {
+        ResourceServerTokenServices tokenServices = new TimedResourceServerTokenServices(tokenServices(), meterRegistry);
+        if (!tokenCacheEnabled) {
+            return tokenServices;
+        }
+        CachingResourceServerTokenServices resourceServerTokenServices =
+                new CachingResourceServerTokenServices(tokenServices, tokenCacheMaximumSize);
+        CaffeineCacheMetrics.monitor(meterRegistry, resourceServerTokenServices.getCache(), "accessTokens");
+        return resourceServerTokenServices;
+    }
 }
@@ -1,17 +1,26 @@
 package com.demo.springboot.employee.config;
 
+import com.demo.springboot.employee.converter.ConstantResponseHttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.support.ReloadableResourceBundleMessageSource;
+import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.validation.Validator;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurerAdapter;
 
+import java.util.List;
+
 @Configuration
 public class WebConfig extends WebMvcConfigurerAdapter {
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         registry.addResourceHandler("/employee-api/swagger-ui.html**")
@@ -40,4 +49,12 @@ public class WebConfig extends WebMvcConfigurerAdapter {
         return validator();
     }
 
+    /**
+     * Ahead of the Jackson converter, data-less responses are written from pre-serialized bytes
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new ConstantResponseHttpMessageConverter(objectMapper));
+    }
+
 }
@@ -3,6 +3,9 @@ package com.demo.springboot.employee.constant;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public class StatusConstants {
 
     @Getter
@@ -17,16 +20,39 @@ public class StatusConstants {
         FAILED_TO_UPDATE_EMPLOYEE(35_005, "Failed to update employee"),
         FAILED_TO_DELETE_EMPLOYEE(35_006, "Failed to delete employee"),
         USERNAME_IS_ALREADY_EXIST(35_007, "username is already exist"),
+        INVALID_PAGINATION_PARAMETER(35_008, "Invalid pagination parameter"),
+        FAILED_TO_EXPORT_EMPLOYEE_LIST(35_009, "Failed to export employee list"),
+        ROLE_IS_NOT_FOUND(35_010, "Role is not found"),
+        FAILED_TO_BULK_REGISTER_EMPLOYEES(35_011, "Failed to register employees"),
+        BULK_REGISTER_LIMIT_EXCEEDED(35_012, "Too many employees in one request"),
+        BULK_DELETE_CRITERIA_REQUIRED(35_013, "ids, name or role is required"),
+        FAILED_TO_BULK_DELETE_EMPLOYEES(35_014, "Failed to delete employees"),
+        EMPLOYEE_VERSION_CONFLICT(35_015, "Employee was modified by another request"),
 
         CUSTOM_FIELD_VALIDATION(35_998, "Custom field validation error"),
         INTERNAL_SERVER_ERROR(35_999, "Internal Server Error");
 
-        private Integer code;
-
-        private String desc;
-
-        public void setDesc(String desc){
-            this.desc = desc;
+        private final Integer code;
+
+        private final String desc;
+
+        /**
+         * Routine outcomes of a well-formed request, e.g. an unknown id or a taken username
+         * They are answered without a stack trace and logged below error level
+         */
+        private static final Set<HttpConstants> EXPECTED = EnumSet.of(
+                EMPLOYEE_ID_IS_NOT_FOUND,
+                USERNAME_IS_ALREADY_EXIST,
+                INVALID_PAGINATION_PARAMETER,
+                ROLE_IS_NOT_FOUND,
+                BULK_REGISTER_LIMIT_EXCEEDED,
+                BULK_DELETE_CRITERIA_REQUIRED,
+                EMPLOYEE_VERSION_CONFLICT,
+                CUSTOM_FIELD_VALIDATION);
+
+        public boolean isExpected() {
+            return EXPECTED.contains(this);
         }
+
     }
 }
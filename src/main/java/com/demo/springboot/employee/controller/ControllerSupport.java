@@ -3,6 +3,9 @@ package com.demo.springboot.employee.controller;
 import com.demo.springboot.employee.constant.StatusConstants.HttpConstants;
 import com.demo.springboot.employee.model.Status;
 import com.demo.springboot.employee.model.response.Response;
+import org.slf4j.Logger;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 
 import javax.servlet.http.HttpServletResponse;
@@ -10,26 +13,64 @@ import javax.servlet.http.HttpServletResponse;
 public interface ControllerSupport {
 
     default <T> Response<T> success(T data) {
-        return new Response<>(new Status(HttpConstants.SUCCESS), data);
+        return new Response<>(Status.of(HttpConstants.SUCCESS), data);
     }
 
+    /**
+     * Data-less responses are shared per constant and written pre-serialized
+     * @see com.demo.springboot.employee.model.response.ConstantResponse
+     */
     default <T> Response<T> success() {
-        return new Response<>(new Status(HttpConstants.SUCCESS));
+        return Response.of(HttpConstants.SUCCESS);
+    }
+
+    /**
+     * Clients may keep the body but have to revalidate it with If-None-Match,
+     * instead of the no-store Spring Security sends by default
+     * @param eTag
+     * @param response
+     */
+    default void setETag(String eTag, HttpServletResponse response) {
+        response.setHeader(HttpHeaders.ETAG, eTag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+    }
+
+    /**
+     * The client's copy is current, nothing is written
+     * @param eTag
+     * @param response
+     * @return null, there is no body
+     */
+    default <T> Response<T> notModified(String eTag, HttpServletResponse response) {
+        response.setStatus(HttpStatus.NOT_MODIFIED.value());
+        setETag(eTag, response);
+        return null;
     }
 
     default <T> Response<T> badRequest(HttpConstants httpConstants, HttpServletResponse response) {
         response.setStatus(HttpStatus.BAD_REQUEST.value());
-        return new Response<>(new Status(httpConstants));
+        return Response.of(httpConstants);
+    }
+
+    /**
+     * The employee changed since the client read it, 412 when the client sent If-Match, 409 when its write lost a race
+     * @param ifMatch header value, null when absent
+     * @param response
+     * @return
+     */
+    default <T> Response<T> conflict(String ifMatch, HttpServletResponse response) {
+        response.setStatus(ifMatch != null ? HttpStatus.PRECONDITION_FAILED.value() : HttpStatus.CONFLICT.value());
+        return Response.of(HttpConstants.EMPLOYEE_VERSION_CONFLICT);
     }
 
     default <T> Response<T> serverError(HttpConstants httpConstants, HttpServletResponse response) {
         response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
-        return new Response<>(new Status(httpConstants));
+        return Response.of(httpConstants);
     }
 
     default <T> Response<T> serverError(HttpServletResponse response) {
         response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
-        return new Response<>(new Status(HttpConstants.INTERNAL_SERVER_ERROR));
+        return Response.of(HttpConstants.INTERNAL_SERVER_ERROR);
     }
 
     default <T> Response<T> serverError(HttpConstants httpConstants, String message, HttpServletResponse response) {
@@ -37,4 +78,19 @@ public interface ControllerSupport {
         return new Response<>(new Status(httpConstants, message));
     }
 
+    /**
+     * Expected outcomes like an unknown id are logged at debug, everything else at error
+     * @param logger
+     * @param status
+     * @param format
+     * @param arguments
+     */
+    default void logFailure(Logger logger, HttpConstants status, String format, Object... arguments) {
+        if (!status.isExpected()) {
+            logger.error(format, arguments);
+        } else if (logger.isDebugEnabled()) {
+            logger.debug(format, arguments);
+        }
+    }
+
 }
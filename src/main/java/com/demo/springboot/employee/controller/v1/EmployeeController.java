@@ -1,67 +1,146 @@
 package com.demo.springboot.employee.controller.v1;
 
 import com.demo.springboot.employee.component.EmployeeComponent;
+import com.demo.springboot.employee.constant.StatusConstants;
 import com.demo.springboot.employee.controller.ControllerSupport;
 import com.demo.springboot.employee.exception.ComponentException;
+import com.demo.springboot.employee.exception.InvalidRequestException;
 import com.demo.springboot.employee.exception.ServiceException;
+import com.demo.springboot.employee.model.request.BulkDeleteEmployeeRequest;
+import com.demo.springboot.employee.model.request.BulkRegisterEmployeeRequest;
+import com.demo.springboot.employee.model.request.EmployeeSearchRequest;
 import com.demo.springboot.employee.model.request.RegisterEmployeeRequest;
 import com.demo.springboot.employee.model.request.UpdateEmployeeRequest;
+import com.demo.springboot.employee.model.response.BulkDeleteEmployeeResponse;
+import com.demo.springboot.employee.model.response.BulkRegisterEmployeeResponse;
 import com.demo.springboot.employee.model.response.EmployeeListResponse;
 import com.demo.springboot.employee.model.response.EmployeeResponse;
 import com.demo.springboot.employee.model.response.Response;
+import com.demo.springboot.employee.util.ETagUtils;
 import io.swagger.annotations.ApiImplicitParam;
 import io.swagger.annotations.ApiOperation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
 
 
 @RestController
 @RequestMapping("/employee-api/v1")
 public class EmployeeController implements ControllerSupport {
 
+    private static final String NDJSON_CONTENT_TYPE = "application/x-ndjson;charset=UTF-8";
+
+    private static final int EXPORT_BUFFER_SIZE = 8192;
+
     private Logger LOG = LoggerFactory.getLogger(EmployeeController.class);
 
     @Autowired
     private EmployeeComponent employeeComponent;
 
     /**
-     * Get all activeStatus = 'active' employees
+     * Get a page of activeStatus = 'active' employees ordered by id
+     * Optional query parameters: name (first or last name prefix), role, cursor (next_cursor of the previous page), limit
+     * The page carries an ETag, a request with a matching If-None-Match gets 304 after a query of ids and versions only
      *
+     * @param employeeSearchRequest
+     * @param ifNoneMatch
      * @param response
      * @return Response<EmployeeListResponse>
      * @see EmployeeListResponse
      */
     @GetMapping(value = "/employees")
-    @ApiOperation(value = "Get all employees", notes = "Possible response codes: 0, 35001, 35999")
+    @ApiOperation(value = "Get all employees", notes = "Possible response codes: 0, 35001, 35008, 35999")
     @PreAuthorize("hasAuthority('ADMIN_USER') or hasAuthority('STANDARD_USER')")
     @ApiImplicitParam(name = "Authorization", value = "Access Token", required = true, allowEmptyValue = false, paramType = "header", example = "Bearer access_token")
-    public Response<EmployeeListResponse> getAllEmployees(HttpServletResponse response) {
+    public Response<EmployeeListResponse> getAllEmployees(EmployeeSearchRequest employeeSearchRequest,
+                                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                          HttpServletResponse response) {
 
         try {
-            LOG.info("Start getting all employee list");
-            EmployeeListResponse employeeListResponse = employeeComponent.findAllEmployees();
-            LOG.info("Done getting all employee list");
+            if (ifNoneMatch != null) {
+                String eTag = employeeComponent.findAllEmployeesETag(employeeSearchRequest);
+                if (ETagUtils.matches(ifNoneMatch, eTag)) {
+                    return notModified(eTag, response);
+                }
+            }
+            EmployeeListResponse employeeListResponse = employeeComponent.findAllEmployees(employeeSearchRequest);
+            setETag(ETagUtils.ofPage(employeeListResponse.getEmployeeList(), employeeListResponse.getNextCursor() != null), response);
             return success(employeeListResponse);
+        } catch (InvalidRequestException e) {
+            logFailure(LOG, e.getStatus(), "Failed getting all employee list with invalid request: {}", e.getMessage());
+            return badRequest(e.getStatus(), response);
         } catch (ComponentException e) {
-            LOG.error("Failed getting all employee list with error: {} {}", e, e.getMessage());
+            logFailure(LOG, e.getStatus(), "Failed getting all employee list with error: {}", e.getMessage());
             return serverError(e.getStatus(), response);
         } catch (Exception e) {
-            LOG.error("Failed getting all employee list with error: {} {}", e, e.getMessage());
+            LOG.error("Failed getting all employee list with error: {}", e.getMessage(), e);
             return serverError(response);
         }
 
     }
 
+    /**
+     * Export all employees, active and inactive, as newline delimited JSON ordered by id
+     * The body is gzip encoded when the client accepts it
+     * An interrupted export is resumed by passing the id of the last received line as after_id
+     *
+     * @param afterId Long
+     * @param request
+     * @param response
+     * @throws IOException
+     */
+    @GetMapping(value = "/employees/export")
+    @ApiOperation(value = "Export all employees as newline delimited JSON", notes = "Possible response codes: 35009")
+    @PreAuthorize("hasAuthority('ADMIN_USER')")
+    @ApiImplicitParam(name = "Authorization", value = "Access Token", required = true, allowEmptyValue = false, paramType = "header", example = "Bearer access_token")
+    public void exportEmployees(@RequestParam(value = "after_id", required = false) Long afterId, HttpServletRequest request, HttpServletResponse response) throws IOException {
+
+        boolean gzip = acceptsGzip(request);
+        response.setContentType(NDJSON_CONTENT_TYPE);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        try {
+            OutputStream outputStream = gzip ? new GZIPOutputStream(response.getOutputStream(), EXPORT_BUFFER_SIZE) : response.getOutputStream();
+            employeeComponent.exportEmployees(afterId, outputStream);
+            if (outputStream instanceof GZIPOutputStream) {
+                ((GZIPOutputStream) outputStream).finish();
+            }
+            outputStream.flush();
+        } catch (ComponentException e) {
+            logFailure(LOG, e.getStatus(), "Failed exporting employee list with error: {}", e.getMessage());
+            if (!response.isCommitted()) {
+                response.reset();
+                response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            }
+        }
+
+    }
+
+    private boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+
     /**
      * Get activeStatus = 'active' or 'inactive' employee information by id
+     * The employee carries its version as ETag, a request with a matching If-None-Match gets 304 and nothing is serialized
      *
      * @param id Long
+     * @param ifNoneMatch
      * @param response
      * @return Response<EmployeeResponse>
      * @see EmployeeResponse
@@ -70,18 +149,23 @@ public class EmployeeController implements ControllerSupport {
     @ApiOperation(value = "Get employee by id", notes = "Possible response codes: 0, 35002, 35004, 35999")
     @PreAuthorize("hasAuthority('ADMIN_USER') or hasAuthority('STANDARD_USER')")
     @ApiImplicitParam(name = "Authorization", value = "Access Token", required = true, allowEmptyValue = false, paramType = "header", example = "Bearer access_token")
-    public Response<EmployeeResponse> getEmployeeById(@PathVariable Long id, HttpServletResponse response) {
+    public Response<EmployeeResponse> getEmployeeById(@PathVariable Long id,
+                                                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                      HttpServletResponse response) {
 
         try {
-            LOG.info("Start getting employee by id: {}", id);
             EmployeeResponse employeeListResponse = employeeComponent.findById(id);
-            LOG.info("Done getting employee by id");
+            String eTag = ETagUtils.of(employeeListResponse.getEmployee());
+            if (ETagUtils.matches(ifNoneMatch, eTag)) {
+                return notModified(eTag, response);
+            }
+            setETag(eTag, response);
             return success(employeeListResponse);
         } catch (ComponentException e) {
-            LOG.error("Failed getting employee by id: {} with error: {} {}", id, e, e.getMessage());
+            logFailure(LOG, e.getStatus(), "Failed getting employee by id: {} with error: {}", id, e.getMessage());
             return serverError(e.getStatus(), response);
         } catch (Exception e) {
-            LOG.error("Failed getting employee by id: {} list with error: {} {}", id, e, e.getMessage());
+            LOG.error("Failed getting employee by id: {} with error: {}", id, e.getMessage(), e);
             return serverError(response);
         }
 
@@ -97,24 +181,61 @@ public class EmployeeController implements ControllerSupport {
      * @see RegisterEmployeeRequest
      */
     @PostMapping(value = "/employee")
-    @ApiOperation(value = "Register new employee", notes = "Possible response codes: 0, 35003, 35007, 35998, 35999")
+    @ApiOperation(value = "Register new employee", notes = "Possible response codes: 0, 35003, 35007, 35010, 35998, 35999")
     @PreAuthorize("hasAuthority('ADMIN_USER')  or hasAuthority('STANDARD_USER')")
     @ApiImplicitParam(name = "Authorization", value = "Access Token", required = true, allowEmptyValue = false, paramType = "header", example = "Bearer access_token")
     public Response registerEmployee(@Valid @RequestBody RegisterEmployeeRequest registerEmployeeRequest, HttpServletResponse response) {
 
         try {
-            LOG.info("Start registering new employee");
             employeeComponent.register(registerEmployeeRequest);
-            LOG.info("Done registering new employee");
             return success();
         } catch (ComponentException e) {
-            LOG.error("Failed registering new employee with service error: {} {}", e, e.getMessage());
+            logFailure(LOG, e.getStatus(), "Failed registering new employee with service error: {}", e.getMessage());
             return serverError(e.getStatus(), response);
         } catch (ServiceException e) {
-            LOG.error("Failed registering new employee with service error: {} {}", e, e.getMessage());
+            logFailure(LOG, e.getStatus(), "Failed registering new employee with service error: {}", e.getMessage());
+            if (e.getStatus() == StatusConstants.HttpConstants.ROLE_IS_NOT_FOUND) {
+                return badRequest(e.getStatus(), response);
+            }
             return serverError(e.getStatus(), response);
         } catch (Exception e) {
-            LOG.error("Failed registering new employee list with error: {} {}", e, e.getMessage());
+            LOG.error("Failed registering new employee list with error: {}", e.getMessage(), e);
+            return serverError(response);
+        }
+
+    }
+
+    /**
+     * Register many employees at once
+     * Every employee gets its own result, an employee which can't be registered doesn't fail the others
+     * Mandatory Field: employees, each with the mandatory fields of a single registration
+     *
+     * @param bulkRegisterEmployeeRequest
+     * @param response
+     * @return Response<BulkRegisterEmployeeResponse>
+     * @see BulkRegisterEmployeeRequest
+     * @see BulkRegisterEmployeeResponse
+     */
+    @PostMapping(value = "/employees")
+    @ApiOperation(value = "Register employees in bulk", notes = "Possible response codes: 0, 35011, 35012, 35998, 35999")
+    @PreAuthorize("hasAuthority('ADMIN_USER')")
+    @ApiImplicitParam(name = "Authorization", value = "Access Token", required = true, allowEmptyValue = false, paramType = "header", example = "Bearer access_token")
+    public Response<BulkRegisterEmployeeResponse> bulkRegisterEmployees(@Valid @RequestBody BulkRegisterEmployeeRequest bulkRegisterEmployeeRequest, HttpServletResponse response) {
+
+        try {
+            BulkRegisterEmployeeResponse bulkRegisterEmployeeResponse = employeeComponent.bulkRegister(bulkRegisterEmployeeRequest);
+            return success(bulkRegisterEmployeeResponse);
+        } catch (InvalidRequestException e) {
+            logFailure(LOG, e.getStatus(), "Failed registering employees with invalid request: {}", e.getMessage());
+            return badRequest(e.getStatus(), response);
+        } catch (ComponentException e) {
+            logFailure(LOG, e.getStatus(), "Failed registering employees with error: {}", e.getMessage());
+            return serverError(e.getStatus(), response);
+        } catch (ServiceException e) {
+            logFailure(LOG, e.getStatus(), "Failed registering employees with service error: {}", e.getMessage());
+            return serverError(e.getStatus(), response);
+        } catch (Exception e) {
+            LOG.error("Failed registering employees with error: {}", e.getMessage(), e);
             return serverError(response);
         }
 
@@ -123,31 +244,40 @@ public class EmployeeController implements ControllerSupport {
     /**
      * Update employee information
      * Mandatory Field: id
+     * With If-Match, the employee is only updated while its ETag matches, see getEmployeeById
+     * Concurrent updates never overwrite each other, the loser gets 35015
      *
      * @param updateEmployeeRequest
+     * @param ifMatch ETag of the employee the update is based on, optional
      * @param response
      * @return
      * @see UpdateEmployeeRequest
      */
     @PutMapping(value = "/employee")
-    @ApiOperation(value = "Update employee information", notes = "Possible response codes: 0, 35004, 35005, 35007, 35998, 35999")
+    @ApiOperation(value = "Update employee information", notes = "Possible response codes: 0, 35004, 35005, 35007, 35010, 35015, 35998, 35999")
     @PreAuthorize("hasAuthority('ADMIN_USER') or hasAuthority('STANDARD_USER')")
     @ApiImplicitParam(name = "Authorization", value = "Access Token", required = true, allowEmptyValue = false, paramType = "header", example = "Bearer access_token")
-    public Response updateEmployee(@Valid @RequestBody UpdateEmployeeRequest updateEmployeeRequest, HttpServletResponse response) {
+    public Response updateEmployee(@Valid @RequestBody UpdateEmployeeRequest updateEmployeeRequest,
+                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                   HttpServletResponse response) {
 
         try {
-            LOG.info("Start updating employee information");
-            employeeComponent.update(updateEmployeeRequest);
-            LOG.info("Done updating employee information");
+            employeeComponent.update(updateEmployeeRequest, ETagUtils.versionOf(ifMatch, updateEmployeeRequest.getId()));
             return success();
         } catch (ComponentException e) {
-            LOG.error("Failed updating employee information with error: {} {}", e, e.getMessage());
+            logFailure(LOG, e.getStatus(), "Failed updating employee information with error: {}", e.getMessage());
             return serverError(e.getStatus(), response);
         } catch (ServiceException e) {
-            LOG.error("Failed updating employee information with error: {} {}", e, e.getMessage());
+            logFailure(LOG, e.getStatus(), "Failed updating employee information with error: {}", e.getMessage());
+            if (e.getStatus() == StatusConstants.HttpConstants.EMPLOYEE_VERSION_CONFLICT) {
+                return conflict(ifMatch, response);
+            }
+            if (e.getStatus() == StatusConstants.HttpConstants.ROLE_IS_NOT_FOUND) {
+                return badRequest(e.getStatus(), response);
+            }
             return serverError(e.getStatus(), response);
         } catch (Exception e) {
-            LOG.error("Failed updating employee information with error: {} {}", e, e.getMessage());
+            LOG.error("Failed updating employee information with error: {}", e.getMessage(), e);
             return serverError(response);
         }
 
@@ -156,30 +286,70 @@ public class EmployeeController implements ControllerSupport {
     /**
      * Delete an employee
      * All delete will be soft delete, it will change the activeStatus="active" to "inactive"
+     * With If-Match, the employee is only deleted while its ETag matches
      *
      * @param id Long
+     * @param ifMatch ETag of the employee the delete is based on, optional
      * @param response
      * @return
      */
     @DeleteMapping(value = "/employee/{id}")
-    @ApiOperation(value = "Delete an employee", notes = "Possible response codes: 0, 35004, 35006, 35999")
+    @ApiOperation(value = "Delete an employee", notes = "Possible response codes: 0, 35004, 35006, 35015, 35999")
     @PreAuthorize("hasAuthority('ADMIN_USER')")
     @ApiImplicitParam(name = "Authorization", value = "Access Token", required = true, allowEmptyValue = false, paramType = "header", example = "Bearer access_token")
-    public Response deleteEmployee(@PathVariable Long id, HttpServletResponse response) {
+    public Response deleteEmployee(@PathVariable Long id,
+                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                   HttpServletResponse response) {
 
         try {
-            LOG.info("Start deleting employee with id: {}", id);
-            employeeComponent.delete(id);
-            LOG.info("Done deleting employee information");
+            employeeComponent.delete(id, ETagUtils.versionOf(ifMatch, id));
             return success();
         } catch (ComponentException e) {
-            LOG.error("Failed deleting employee information with error: {} {}", e, e.getMessage());
+            logFailure(LOG, e.getStatus(), "Failed deleting employee information with error: {}", e.getMessage());
+            return serverError(e.getStatus(), response);
+        } catch (ServiceException e) {
+            logFailure(LOG, e.getStatus(), "Failed deleting employee information with error: {}", e.getMessage());
+            if (e.getStatus() == StatusConstants.HttpConstants.EMPLOYEE_VERSION_CONFLICT) {
+                return conflict(ifMatch, response);
+            }
+            return serverError(e.getStatus(), response);
+        } catch (Exception e) {
+            LOG.error("Failed deleting employee information with error: {}", e.getMessage(), e);
+            return serverError(response);
+        }
+
+    }
+
+    /**
+     * Delete employees in bulk
+     * Every active employee matching all of ids, name prefix and role is soft deleted with a single update
+     *
+     * @param bulkDeleteEmployeeRequest
+     * @param response
+     * @return Response<BulkDeleteEmployeeResponse>
+     * @see BulkDeleteEmployeeRequest
+     * @see BulkDeleteEmployeeResponse
+     */
+    @PostMapping(value = "/employees/delete")
+    @ApiOperation(value = "Delete employees in bulk", notes = "Possible response codes: 0, 35013, 35014, 35999")
+    @PreAuthorize("hasAuthority('ADMIN_USER')")
+    @ApiImplicitParam(name = "Authorization", value = "Access Token", required = true, allowEmptyValue = false, paramType = "header", example = "Bearer access_token")
+    public Response<BulkDeleteEmployeeResponse> bulkDeleteEmployees(@RequestBody BulkDeleteEmployeeRequest bulkDeleteEmployeeRequest, HttpServletResponse response) {
+
+        try {
+            BulkDeleteEmployeeResponse bulkDeleteEmployeeResponse = employeeComponent.bulkDelete(bulkDeleteEmployeeRequest);
+            return success(bulkDeleteEmployeeResponse);
+        } catch (InvalidRequestException e) {
+            logFailure(LOG, e.getStatus(), "Failed deleting employees with invalid request: {}", e.getMessage());
+            return badRequest(e.getStatus(), response);
+        } catch (ComponentException e) {
+            logFailure(LOG, e.getStatus(), "Failed deleting employees with error: {}", e.getMessage());
             return serverError(e.getStatus(), response);
         } catch (ServiceException e) {
-            LOG.error("Failed deleting employee information with error: {} {}", e, e.getMessage());
+            logFailure(LOG, e.getStatus(), "Failed deleting employees with service error: {}", e.getMessage());
             return serverError(e.getStatus(), response);
         } catch (Exception e) {
-            LOG.error("Failed deleting employee information with error: {} {}", e, e.getMessage());
+            LOG.error("Failed deleting employees with error: {}", e.getMessage(), e);
             return serverError(response);
         }
 
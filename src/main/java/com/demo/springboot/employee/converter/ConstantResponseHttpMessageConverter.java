@@ -0,0 +1,63 @@
+package com.demo.springboot.employee.converter;
+
+import com.demo.springboot.employee.constant.StatusConstants;
+import com.demo.springboot.employee.model.Status;
+import com.demo.springboot.employee.model.response.ConstantResponse;
+import com.demo.springboot.employee.model.response.Response;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Writes a {@link ConstantResponse} from bytes serialized once per status constant by the application object mapper,
+ * so data-less success and error responses cost no Jackson work per request
+ */
+public class ConstantResponseHttpMessageConverter extends AbstractHttpMessageConverter<ConstantResponse<?>> {
+
+    private final Map<StatusConstants.HttpConstants, byte[]> bodies = new EnumMap<>(StatusConstants.HttpConstants.class);
+
+    public ConstantResponseHttpMessageConverter(ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON_UTF8, MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        for (StatusConstants.HttpConstants httpConstants : StatusConstants.HttpConstants.values()) {
+            try {
+                bodies.put(httpConstants, objectMapper.writeValueAsBytes(new Response<>(Status.of(httpConstants), null)));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Failed serializing the response of " + httpConstants, e);
+            }
+        }
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ConstantResponse.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected ConstantResponse<?> readInternal(Class<? extends ConstantResponse<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("ConstantResponse is write only");
+    }
+
+    @Override
+    protected Long getContentLength(ConstantResponse<?> constantResponse, MediaType contentType) {
+        return (long) bodies.get(constantResponse.getHttpConstants()).length;
+    }
+
+    @Override
+    protected void writeInternal(ConstantResponse<?> constantResponse, HttpOutputMessage outputMessage) throws IOException {
+        outputMessage.getBody().write(bodies.get(constantResponse.getHttpConstants()));
+    }
+
+}
@@ -2,19 +2,26 @@ package com.demo.springboot.employee.converter;
 
 import com.demo.springboot.employee.domain.Role;
 import com.demo.springboot.employee.model.request.RoleRequest;
+import com.demo.springboot.employee.service.impl.RoleServiceImpl;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.stereotype.Component;
 
 @Component
 public class RoleRequestToRoleEntityConverter implements Converter<RoleRequest, Role> {
 
+    @Autowired
+    private RoleServiceImpl roleServiceImpl;
+
+    /**
+     * Resolve the requested role name to the existing role
+     * @param roleRequest
+     * @return
+     * @throws com.demo.springboot.employee.exception.ServiceException if the role does not exist
+     */
     @Override
     public Role convert(RoleRequest roleRequest) {
-        Role role = Role.builder()
-                .roleName(roleRequest.getRoleName())
-                .description(roleRequest.getDescription())
-                .build();
-        return role;
+        return roleServiceImpl.findByRoleName(roleRequest.getRoleName());
     }
 
 }
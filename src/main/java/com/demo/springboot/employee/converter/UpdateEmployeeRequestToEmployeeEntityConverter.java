@@ -1,12 +1,12 @@
 package com.demo.springboot.employee.converter;
 
-import com.demo.springboot.employee.constant.ActiveStatus;
 import com.demo.springboot.employee.domain.Employee;
 import com.demo.springboot.employee.model.request.UpdateEmployeeRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
 import java.util.stream.Collectors;
 
@@ -24,11 +24,11 @@ public class UpdateEmployeeRequestToEmployeeEntityConverter implements Converter
         Employee employee = Employee.builder()
                 .id(updateEmployeeRequest.getId())
                 .username(updateEmployeeRequest.getUsername())
-                .password(passwordEncoder.encode(updateEmployeeRequest.getPassword()))
+                // only hash a supplied password, a null password leaves the stored one untouched
+                .password(StringUtils.isEmpty(updateEmployeeRequest.getPassword()) ? null : passwordEncoder.encode(updateEmployeeRequest.getPassword()))
                 .firstName(updateEmployeeRequest.getFirstName())
                 .lastName(updateEmployeeRequest.getLastName())
-                .activeStatus(ActiveStatus.ACTIVE.getDesc())
-                .roles(updateEmployeeRequest.getRoles()
+                .roles(updateEmployeeRequest.getRoles() == null ? null : updateEmployeeRequest.getRoles()
                         .stream()
                         .map(role -> roleRequestToRoleEntityConverter.convert(role))
                         .collect(Collectors.toList())
@@ -2,13 +2,19 @@ package com.demo.springboot.employee.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.*;
 import java.sql.Date;
 import java.sql.Timestamp;
 import java.util.List;
 
+/**
+ * Updates only write the columns which changed, partial updates don't rewrite the whole row
+ * Inserts are batched by hibernate.jdbc.batch_size
+ */
 @Entity
+@DynamicUpdate
 @Builder
 @Table(name = "employee")
 @Getter
@@ -17,8 +23,12 @@ import java.util.List;
 @AllArgsConstructor
 public class Employee {
 
+    /**
+     * Ids are allocated from employee_seq in blocks of 50, the sequence increment must match allocationSize
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_seq")
+    @SequenceGenerator(name = "employee_seq", sequenceName = "employee_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -45,10 +55,19 @@ public class Employee {
     private Timestamp deletedDate;
 
     /**
-     * Roles are being eagerly loaded here because
-     * they are a fairly small collection of items for this example.
+     * Incremented by every update, it is the ETag of the employee
+     * Bulk updates bypassing the entity have to increment it themselves
+     */
+    @Version
+    @Column(name = "version")
+    private Long version;
+
+    /**
+     * Roles are loaded lazily, repository queries which need them
+     * fetch them explicitly with an entity graph.
+     * Roles are reference data, they are never cascaded from an employee.
      */
-    @ManyToMany(cascade = {CascadeType.ALL}, fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(name = "user_role",
             joinColumns = @JoinColumn(name = "user_id", referencedColumnName = "id"),
             inverseJoinColumns = @JoinColumn(name = "role_id", referencedColumnName = "id"))
@@ -0,0 +1,30 @@
+package com.demo.springboot.employee.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+
+/**
+ * Role-less, read-only projection of {@link Employee} for list views.
+ * It is built straight from the selected columns without hydrating the entity.
+ */
+@Getter
+@AllArgsConstructor
+public class EmployeeSummary {
+
+    private final Long id;
+
+    private final String username;
+
+    private final String firstName;
+
+    private final String lastName;
+
+    private final String activeStatus;
+
+    private final Date registeredDate;
+
+    private final Date deletedDate;
+
+}
@@ -0,0 +1,17 @@
+package com.demo.springboot.employee.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Id and version of an employee, enough to tell whether a client's copy is current
+ */
+@Getter
+@AllArgsConstructor
+public class EmployeeVersion implements Versioned {
+
+    private final Long id;
+
+    private final Long version;
+
+}
@@ -0,0 +1,64 @@
+package com.demo.springboot.employee.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Read-only projection of {@link Employee} with its roles, serialized like the entity.
+ * It is built straight from the selected columns, nothing is added to the persistence context.
+ * The version isn't serialized, it goes out as the ETag.
+ */
+@Getter
+public class EmployeeView implements Versioned {
+
+    private final Long id;
+
+    private final String username;
+
+    private final String firstName;
+
+    private final String lastName;
+
+    private final String activeStatus;
+
+    private final Date registeredDate;
+
+    private final Date deletedDate;
+
+    private final List<RoleView> roles;
+
+    @JsonIgnore
+    private final Long version;
+
+    public EmployeeView(Long id, String username, String firstName, String lastName, String activeStatus,
+                        Date registeredDate, Date deletedDate, List<RoleView> roles, Long version) {
+        this.id = id;
+        this.username = username;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.activeStatus = activeStatus;
+        this.registeredDate = registeredDate;
+        this.deletedDate = deletedDate;
+        this.roles = roles;
+        this.version = version;
+    }
+
+    /**
+     * Used by the constructor expression of the employee row, roles are attached with {@link #withRoles(List)}
+     */
+    public EmployeeView(Long id, String username, String firstName, String lastName, String activeStatus,
+                        Date registeredDate, Date deletedDate, Long version) {
+        this(id, username, firstName, lastName, activeStatus, registeredDate, deletedDate, Collections.emptyList(), version);
+    }
+
+    public EmployeeView withRoles(List<RoleView> roles) {
+        return new EmployeeView(id, username, firstName, lastName, activeStatus, registeredDate, deletedDate,
+                Collections.unmodifiableList(new ArrayList<>(roles)), version);
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.demo.springboot.employee.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Read-only projection of {@link Role}, built straight from the selected columns.
+ */
+@Getter
+@AllArgsConstructor
+public class RoleView {
+
+    private final Long id;
+
+    private final String roleName;
+
+    private final String description;
+
+}
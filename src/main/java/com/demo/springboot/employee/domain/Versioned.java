@@ -0,0 +1,13 @@
+package com.demo.springboot.employee.domain;
+
+/**
+ * A row identified by its id and the version of its content
+ * @see com.demo.springboot.employee.util.ETagUtils
+ */
+public interface Versioned {
+
+    Long getId();
+
+    Long getVersion();
+
+}
@@ -3,20 +3,26 @@ package com.demo.springboot.employee.exception;
 import com.demo.springboot.employee.constant.StatusConstants;
 import lombok.Getter;
 
+/**
+ * A rejected request is an expected outcome, it doesn't fill in a stack trace
+ */
 @Getter
 public class InvalidRequestException extends RuntimeException {
 
-    private StatusConstants.HttpConstants status;
+    private final StatusConstants.HttpConstants status;
 
     public InvalidRequestException(StatusConstants.HttpConstants status) {
-        super(status.getDesc(), null);
-        this.status = status;
+        this(status, status.getDesc());
     }
 
+    /**
+     * The constant is shared, desc is only the message of the exception
+     * @param status
+     * @param desc
+     */
     public InvalidRequestException(StatusConstants.HttpConstants status, String desc) {
-        super(desc, null);
+        super(desc, null, false, false);
         this.status = status;
-        this.status.setDesc(desc);
     }
 
 }
@@ -3,19 +3,45 @@ package com.demo.springboot.employee.exception;
 import com.demo.springboot.employee.constant.StatusConstants;
 import lombok.Getter;
 
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Expected outcomes, see {@link StatusConstants.HttpConstants#isExpected()}, don't fill in a stack trace,
+ * only unexpected failures pay for one
+ */
 @Getter
 public class ServiceException extends RuntimeException {
 
-    private StatusConstants.HttpConstants status;
+    private static final Map<StatusConstants.HttpConstants, ServiceException> EXPECTED = new EnumMap<>(StatusConstants.HttpConstants.class);
+
+    static {
+        for (StatusConstants.HttpConstants status : StatusConstants.HttpConstants.values()) {
+            if (status.isExpected()) {
+                EXPECTED.put(status, new ServiceException(status));
+            }
+        }
+    }
+
+    private final StatusConstants.HttpConstants status;
 
     public ServiceException(StatusConstants.HttpConstants status) {
-        super(status.getDesc(), null);
-        this.status = status;
+        this(status, status.getDesc());
     }
 
     public ServiceException(StatusConstants.HttpConstants status, String message) {
-        super(message, null);
+        super(message, null, false, !status.isExpected());
         this.status = status;
     }
 
+    /**
+     * Expected outcomes are stackless and immutable, so one instance per constant is shared
+     * @param status
+     * @return
+     */
+    public static ServiceException of(StatusConstants.HttpConstants status) {
+        ServiceException exception = EXPECTED.get(status);
+        return exception != null ? exception : new ServiceException(status);
+    }
+
 }
@@ -0,0 +1,130 @@
+package com.demo.springboot.employee.invalidation;
+
+import com.demo.springboot.employee.service.impl.AppUserDetailsService;
+import com.demo.springboot.employee.service.impl.EmployeeViewCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the employee caches of this node coherent with the other nodes
+ * Changes made here are published on the invalidation bus after commit, changes published by the other nodes
+ * evict the cached views and user details here. Evicting is idempotent, so late and duplicated events are applied as they come,
+ * a skipped version means an event was lost and everything is evicted.
+ */
+@Component
+public class EmployeeCacheInvalidator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EmployeeCacheInvalidator.class);
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final AtomicLong versions = new AtomicLong();
+
+    private final Map<String, AtomicLong> lastVersions = new ConcurrentHashMap<>();
+
+    @Autowired
+    private InvalidationBus invalidationBus;
+
+    @Autowired
+    private EmployeeViewCache employeeViewCache;
+
+    @Autowired
+    private AppUserDetailsService appUserDetailsService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Counter publishedEvents;
+
+    private Counter receivedEvents;
+
+    private Counter lostEvents;
+
+    @PostConstruct
+    public void init() {
+        publishedEvents = eventCounter("published");
+        receivedEvents = eventCounter("received");
+        lostEvents = eventCounter("lost");
+        invalidationBus.subscribe(this::onEvent);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Tell the other nodes an employee changed
+     * @param employeeId
+     * @param usernames usernames the employee had before and after the change
+     */
+    public void publish(Long employeeId, String... usernames) {
+        publish(EmployeeChangeEvent.builder()
+                .employeeId(employeeId)
+                .usernames(Arrays.asList(usernames))
+                .build());
+    }
+
+    /**
+     * Tell the other nodes any employee may have changed
+     */
+    public void publishAll() {
+        publish(EmployeeChangeEvent.builder()
+                .usernames(Collections.emptyList())
+                .all(true)
+                .build());
+    }
+
+    private void publish(EmployeeChangeEvent event) {
+        event.setNodeId(nodeId);
+        event.setVersion(versions.incrementAndGet());
+        invalidationBus.publish(event);
+        publishedEvents.increment();
+    }
+
+    private void onEvent(EmployeeChangeEvent event) {
+        if (nodeId.equals(event.getNodeId())) {
+            // evicted here right after the commit
+            return;
+        }
+        receivedEvents.increment();
+        // the first event of a node is its baseline, whatever it published before was committed before this node cached anything
+        AtomicLong lastVersion = lastVersions.computeIfAbsent(event.getNodeId(), node -> new AtomicLong(event.getVersion() - 1));
+        long previousVersion = lastVersion.getAndAccumulate(event.getVersion(), Math::max);
+        if (event.getVersion() > previousVersion + 1) {
+            lostEvents.increment(event.getVersion() - previousVersion - 1);
+            LOG.warn("Lost {} employee changes of node {}, evicting every cached employee", event.getVersion() - previousVersion - 1, event.getNodeId());
+            evictAll();
+        } else if (event.isAll()) {
+            evictAll();
+        } else {
+            String[] usernames = event.getUsernames() == null ? new String[0] : event.getUsernames().toArray(new String[0]);
+            employeeViewCache.evict(event.getEmployeeId(), usernames);
+            Arrays.stream(usernames).forEach(appUserDetailsService::evict);
+        }
+    }
+
+    private void evictAll() {
+        employeeViewCache.evictAll();
+        appUserDetailsService.evictAll();
+    }
+
+    private Counter eventCounter(String type) {
+        return Counter.builder("employee.invalidation.events")
+                .description("Employee change events of the invalidation bus")
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+
+}
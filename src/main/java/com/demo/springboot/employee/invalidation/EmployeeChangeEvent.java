@@ -0,0 +1,39 @@
+package com.demo.springboot.employee.invalidation;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * An employee changed on a node, the other nodes evict what they cached of it
+ * Versions are consecutive per node, a skipped version means an event was lost
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeChangeEvent {
+
+    /**
+     * Publishing node, unique per start
+     */
+    private String nodeId;
+
+    private long version;
+
+    private Long employeeId;
+
+    /**
+     * Usernames the employee had before and after the change
+     */
+    private List<String> usernames;
+
+    /**
+     * Any employee may have changed, e.g. after a bulk delete
+     */
+    private boolean all;
+
+}
@@ -0,0 +1,45 @@
+package com.demo.springboot.employee.invalidation;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Delivers events synchronously to the subscribers of every bus on the same channel in this JVM
+ * Application contexts started in one JVM share the channel, so they behave like nodes of a cluster
+ * With a single context it only reaches the publishing node
+ */
+public class InMemoryInvalidationBus implements InvalidationBus {
+
+    private static final Map<String, List<Consumer<EmployeeChangeEvent>>> CHANNELS = new ConcurrentHashMap<>();
+
+    private final List<Consumer<EmployeeChangeEvent>> listeners;
+
+    private final List<Consumer<EmployeeChangeEvent>> subscriptions = new CopyOnWriteArrayList<>();
+
+    public InMemoryInvalidationBus(String channel) {
+        this.listeners = CHANNELS.computeIfAbsent(channel, key -> new CopyOnWriteArrayList<>());
+    }
+
+    @Override
+    public void publish(EmployeeChangeEvent event) {
+        listeners.forEach(listener -> listener.accept(event));
+    }
+
+    @Override
+    public void subscribe(Consumer<EmployeeChangeEvent> listener) {
+        subscriptions.add(listener);
+        listeners.add(listener);
+    }
+
+    /**
+     * Leave the channel, called when the application context closes
+     */
+    public void close() {
+        listeners.removeAll(subscriptions);
+        subscriptions.clear();
+    }
+
+}
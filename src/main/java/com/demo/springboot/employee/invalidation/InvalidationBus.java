@@ -0,0 +1,15 @@
+package com.demo.springboot.employee.invalidation;
+
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts employee changes to every node of the application, including the publishing one
+ * Delivery is best effort, subscribers detect lost events by the versions
+ */
+public interface InvalidationBus {
+
+    void publish(EmployeeChangeEvent event);
+
+    void subscribe(Consumer<EmployeeChangeEvent> listener);
+
+}
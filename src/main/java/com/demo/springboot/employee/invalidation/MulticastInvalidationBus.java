@@ -0,0 +1,95 @@
+package com.demo.springboot.employee.invalidation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.MulticastSocket;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Sends events as JSON datagrams to a UDP multicast group, every node listening on the group receives them
+ * Loopback is on, so nodes on the same machine reach each other, and the TTL keeps the datagrams in the local network
+ * No broker is involved, a lost datagram shows up as a skipped version at the subscribers
+ */
+public class MulticastInvalidationBus implements InvalidationBus, Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MulticastInvalidationBus.class);
+
+    private static final int MAX_DATAGRAM_SIZE = 65_507;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final List<Consumer<EmployeeChangeEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    private final InetAddress group;
+
+    private final int port;
+
+    private final MulticastSocket socket;
+
+    private final Thread receiver;
+
+    public MulticastInvalidationBus(String group, int port, int timeToLive) throws IOException {
+        this.group = InetAddress.getByName(group);
+        this.port = port;
+        this.socket = new MulticastSocket(port);
+        socket.setTimeToLive(timeToLive);
+        // false enables the loopback
+        socket.setLoopbackMode(false);
+        socket.joinGroup(this.group);
+        this.receiver = new Thread(this::receive, "invalidation-bus-receiver");
+        receiver.setDaemon(true);
+        receiver.start();
+    }
+
+    @Override
+    public void publish(EmployeeChangeEvent event) {
+        try {
+            byte[] datagram = objectMapper.writeValueAsBytes(event);
+            socket.send(new DatagramPacket(datagram, datagram.length, group, port));
+        } catch (IOException e) {
+            // the other nodes see the skipped version and evict everything
+            LOG.warn("Failed publishing employee change {}: {}", event.getVersion(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<EmployeeChangeEvent> listener) {
+        listeners.add(listener);
+    }
+
+    private void receive() {
+        byte[] buffer = new byte[MAX_DATAGRAM_SIZE];
+        while (!socket.isClosed()) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+                EmployeeChangeEvent event = objectMapper.readValue(packet.getData(), packet.getOffset(), packet.getLength(), EmployeeChangeEvent.class);
+                listeners.forEach(listener -> listener.accept(event));
+            } catch (IOException e) {
+                if (!socket.isClosed()) {
+                    LOG.warn("Failed receiving an employee change: {}", e.getMessage());
+                }
+            } catch (RuntimeException e) {
+                LOG.error("Failed applying an employee change: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            socket.leaveGroup(group);
+        } finally {
+            socket.close();
+        }
+    }
+
+}
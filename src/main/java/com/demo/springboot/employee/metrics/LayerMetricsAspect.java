@@ -0,0 +1,116 @@
+package com.demo.springboot.employee.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Times every public method of the component, the service and the repositories, tagged with the method
+ * and the exception it ended with, so a request's latency can be split by layer
+ * The service timers include the transaction, this aspect runs outside of the transaction interceptor
+ * Repository calls also record the rows they returned or updated
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class LayerMetricsAspect {
+
+    private static final String NONE = "none";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, DistributionSummary> rowSummaries = new ConcurrentHashMap<>();
+
+    @Around("execution(public * com.demo.springboot.employee.component.EmployeeComponent.*(..))")
+    public Object timeComponent(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("employee.component", "EmployeeComponent", joinPoint);
+    }
+
+    @Around("execution(public * com.demo.springboot.employee.service.impl.*ServiceImpl.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("employee.service", joinPoint.getSignature().getDeclaringType().getSimpleName(), joinPoint);
+    }
+
+    @Around("execution(public * *(..)) && bean(employeeRepository)")
+    public Object timeEmployeeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return countRows("EmployeeRepository", joinPoint.getSignature().getName(), time("employee.repository", "EmployeeRepository", joinPoint));
+    }
+
+    @Around("execution(public * *(..)) && bean(roleRepository)")
+    public Object timeRoleRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return countRows("RoleRepository", joinPoint.getSignature().getName(), time("employee.repository", "RoleRepository", joinPoint));
+    }
+
+    private Object time(String name, String className, ProceedingJoinPoint joinPoint) throws Throwable {
+        String method = joinPoint.getSignature().getName();
+        long start = System.nanoTime();
+        String exception = NONE;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            timer(name, className, method, exception).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(String name, String className, String method, String exception) {
+        String key = name + '.' + className + '.' + method + '.' + exception;
+        Timer timer = timers.get(key);
+        return timer != null ? timer : timers.computeIfAbsent(key, k -> Timer.builder(name)
+                .tag("class", className)
+                .tag("method", method)
+                .tag("exception", exception)
+                .register(meterRegistry));
+    }
+
+    /**
+     * Collections and optionals are counted right away, the update count of modifying queries too,
+     * streams once they are closed
+     */
+    private Object countRows(String className, String method, Object result) {
+        if (result instanceof Collection) {
+            rowSummary(className, method).record(((Collection<?>) result).size());
+        } else if (result instanceof Optional) {
+            rowSummary(className, method).record(((Optional<?>) result).isPresent() ? 1 : 0);
+        } else if (result instanceof Integer) {
+            rowSummary(className, method).record((Integer) result);
+        } else if (result instanceof Stream) {
+            AtomicLong rows = new AtomicLong();
+            return ((Stream<?>) result)
+                    .peek(row -> rows.incrementAndGet())
+                    .onClose(() -> rowSummary(className, method).record(rows.get()));
+        }
+        return result;
+    }
+
+    private DistributionSummary rowSummary(String className, String method) {
+        String key = className + '.' + method;
+        DistributionSummary rowSummary = rowSummaries.get(key);
+        return rowSummary != null ? rowSummary : rowSummaries.computeIfAbsent(key, k -> DistributionSummary.builder("employee.repository.rows")
+                .description("Rows returned or updated by a repository call")
+                .tag("class", className)
+                .tag("method", method)
+                .register(meterRegistry));
+    }
+
+}
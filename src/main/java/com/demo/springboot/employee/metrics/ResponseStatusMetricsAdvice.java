@@ -0,0 +1,58 @@
+package com.demo.springboot.employee.metrics;
+
+import com.demo.springboot.employee.constant.StatusConstants;
+import com.demo.springboot.employee.model.response.Response;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts the responses by the status code in their body, the HTTP status alone doesn't tell
+ * an unknown id from a failed query
+ */
+@ControllerAdvice
+public class ResponseStatusMetricsAdvice implements ResponseBodyAdvice<Object> {
+
+    private final Map<Integer, Counter> counters;
+
+    public ResponseStatusMetricsAdvice(MeterRegistry meterRegistry) {
+        Map<Integer, Counter> counters = new HashMap<>();
+        for (StatusConstants.HttpConstants httpConstants : StatusConstants.HttpConstants.values()) {
+            counters.put(httpConstants.getCode(), Counter.builder("employee.responses")
+                    .description("Responses by status code")
+                    .tag("code", String.valueOf(httpConstants.getCode()))
+                    .tag("status", httpConstants.name())
+                    .register(meterRegistry));
+        }
+        this.counters = Collections.unmodifiableMap(counters);
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return Response.class.isAssignableFrom(returnType.getParameterType());
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body instanceof Response && ((Response<?>) body).getStatus() != null) {
+            Counter counter = counters.get(((Response<?>) body).getStatus().getCode());
+            if (counter != null) {
+                counter.increment();
+            }
+        }
+        return body;
+    }
+
+}
@@ -3,16 +3,22 @@ package com.demo.springboot.employee.model;
 import com.demo.springboot.employee.constant.StatusConstants;
 import lombok.*;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Immutable, the status of a constant is shared, see {@link #of(StatusConstants.HttpConstants)}
+ */
 @Getter
-@Setter
-@Builder
-@NoArgsConstructor
 @AllArgsConstructor
 public class Status {
 
-    public Integer code;
+    private static final Map<StatusConstants.HttpConstants, Status> CONSTANT_STATUSES = constantStatuses();
+
+    private final Integer code;
 
-    public String message;
+    private final String message;
 
     public Status(StatusConstants.HttpConstants httpConstants) {
         this.code = httpConstants.getCode();
@@ -24,4 +30,21 @@ public class Status {
         this.message = message;
     }
 
+    /**
+     * Shared status carrying the code and the description of the constant
+     * @param httpConstants
+     * @return
+     */
+    public static Status of(StatusConstants.HttpConstants httpConstants) {
+        return CONSTANT_STATUSES.get(httpConstants);
+    }
+
+    private static Map<StatusConstants.HttpConstants, Status> constantStatuses() {
+        Map<StatusConstants.HttpConstants, Status> statuses = new EnumMap<>(StatusConstants.HttpConstants.class);
+        for (StatusConstants.HttpConstants httpConstants : StatusConstants.HttpConstants.values()) {
+            statuses.put(httpConstants, new Status(httpConstants));
+        }
+        return Collections.unmodifiableMap(statuses);
+    }
+
 }
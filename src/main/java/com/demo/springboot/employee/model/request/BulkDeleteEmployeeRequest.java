@@ -0,0 +1,31 @@
+package com.demo.springboot.employee.model.request;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Active employees matching every supplied criterion are soft deleted, at least one criterion is required
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonNaming(PropertyNamingStrategy.SnakeCaseStrategy.class)
+public class BulkDeleteEmployeeRequest {
+
+    private List<Long> ids;
+
+    /**
+     * First name or last name prefix, case insensitive
+     */
+    private String name;
+
+    private String role;
+
+}
@@ -0,0 +1,26 @@
+package com.demo.springboot.employee.model.request;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotEmpty;
+import java.util.List;
+
+/**
+ * Employees are validated one by one, an invalid employee is reported in its own result
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonNaming(PropertyNamingStrategy.SnakeCaseStrategy.class)
+public class BulkRegisterEmployeeRequest {
+
+    @NotEmpty(message = "{employees.not-empty}")
+    private List<RegisterEmployeeRequest> employees;
+
+}
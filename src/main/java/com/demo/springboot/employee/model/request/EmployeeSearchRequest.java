@@ -0,0 +1,22 @@
+package com.demo.springboot.employee.model.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeSearchRequest {
+
+    private String name;
+
+    private String role;
+
+    private String cursor;
+
+    private Integer limit;
+
+}
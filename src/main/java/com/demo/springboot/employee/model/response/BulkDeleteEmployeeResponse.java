@@ -0,0 +1,22 @@
+package com.demo.springboot.employee.model.response;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonNaming(PropertyNamingStrategy.SnakeCaseStrategy.class)
+public class BulkDeleteEmployeeResponse {
+
+    /**
+     * Number of employees switched to inactive, already inactive or unknown employees are not counted
+     */
+    private Integer deletedCount;
+
+}
@@ -0,0 +1,26 @@
+package com.demo.springboot.employee.model.response;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonNaming(PropertyNamingStrategy.SnakeCaseStrategy.class)
+public class BulkRegisterEmployeeResponse {
+
+    private Integer registeredCount;
+
+    /**
+     * One result per requested employee, in request order
+     */
+    private List<RegisterEmployeeResult> results;
+
+}
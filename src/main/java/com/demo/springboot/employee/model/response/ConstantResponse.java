@@ -0,0 +1,33 @@
+package com.demo.springboot.employee.model.response;
+
+import com.demo.springboot.employee.constant.StatusConstants;
+import com.demo.springboot.employee.model.Status;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+
+/**
+ * Data-less response of a status constant, a single instance per constant is shared by every request.
+ * Its body is written pre-serialized by ConstantResponseHttpMessageConverter.
+ */
+public final class ConstantResponse<T> extends Response<T> {
+
+    @JsonIgnore
+    @Getter
+    private final StatusConstants.HttpConstants httpConstants;
+
+    ConstantResponse(StatusConstants.HttpConstants httpConstants) {
+        super(Status.of(httpConstants), null);
+        this.httpConstants = httpConstants;
+    }
+
+    @Override
+    public void setStatus(Status status) {
+        throw new UnsupportedOperationException("Shared response of " + httpConstants + " can't be modified");
+    }
+
+    @Override
+    public void setData(T data) {
+        throw new UnsupportedOperationException("Shared response of " + httpConstants + " can't be modified");
+    }
+
+}
@@ -1,6 +1,6 @@
 package com.demo.springboot.employee.model.response;
 
-import com.demo.springboot.employee.domain.Employee;
+import com.demo.springboot.employee.domain.EmployeeView;
 import com.fasterxml.jackson.databind.PropertyNamingStrategy;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
 import lombok.AllArgsConstructor;
@@ -17,6 +17,11 @@ import java.util.List;
 @JsonNaming(PropertyNamingStrategy.SnakeCaseStrategy.class)
 public class EmployeeListResponse {
 
-    List<Employee> employeeList;
+    List<EmployeeView> employeeList;
+
+    /**
+     * Continuation token of the next page, null on the last page
+     */
+    String nextCursor;
 
 }
@@ -1,6 +1,6 @@
 package com.demo.springboot.employee.model.response;
 
-import com.demo.springboot.employee.domain.Employee;
+import com.demo.springboot.employee.domain.EmployeeView;
 import com.fasterxml.jackson.databind.PropertyNamingStrategy;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
 import lombok.AllArgsConstructor;
@@ -15,6 +15,6 @@ import lombok.NoArgsConstructor;
 @JsonNaming(PropertyNamingStrategy.SnakeCaseStrategy.class)
 public class EmployeeResponse {
 
-    private Employee employee;
+    private EmployeeView employee;
 
 }
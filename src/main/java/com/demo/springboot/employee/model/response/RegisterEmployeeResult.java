@@ -0,0 +1,32 @@
+package com.demo.springboot.employee.model.response;
+
+import com.demo.springboot.employee.model.Status;
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonNaming(PropertyNamingStrategy.SnakeCaseStrategy.class)
+public class RegisterEmployeeResult {
+
+    /**
+     * Position of the employee in the request
+     */
+    private Integer index;
+
+    private String username;
+
+    /**
+     * Id of the registered employee, null when it wasn't registered
+     */
+    private Long id;
+
+    private Status status;
+
+}
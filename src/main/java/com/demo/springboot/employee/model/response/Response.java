@@ -8,30 +8,52 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class Response<T> {
 
+    private static final Map<StatusConstants.HttpConstants, ConstantResponse<?>> CONSTANT_RESPONSES = constantResponses();
+
     private Status status;
 
     private T data;
 
     public Response(Status status) {
-        this.setStatus(status);
+        this.status = status;
     }
 
     public Response(StatusConstants.HttpConstants httpConstants, T data) {
-        Status status = new Status(httpConstants);
-        this.setStatus(status);
-        this.setData(data);
+        this.status = Status.of(httpConstants);
+        this.data = data;
     }
 
     public Response(StatusConstants.HttpConstants httpConstants) {
-        Status status = new Status(httpConstants);
-        this.setStatus(status);
-        this.setData(null);
+        this.status = Status.of(httpConstants);
+    }
+
+    /**
+     * Shared, immutable data-less response of the constant
+     * @param httpConstants
+     * @return
+     * @see ConstantResponse
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Response<T> of(StatusConstants.HttpConstants httpConstants) {
+        return (Response<T>) CONSTANT_RESPONSES.get(httpConstants);
+    }
+
+    private static Map<StatusConstants.HttpConstants, ConstantResponse<?>> constantResponses() {
+        Map<StatusConstants.HttpConstants, ConstantResponse<?>> responses = new EnumMap<>(StatusConstants.HttpConstants.class);
+        for (StatusConstants.HttpConstants httpConstants : StatusConstants.HttpConstants.values()) {
+            responses.put(httpConstants, new ConstantResponse<>(httpConstants));
+        }
+        return Collections.unmodifiableMap(responses);
     }
 
-}
\ No newline at end of file
+}
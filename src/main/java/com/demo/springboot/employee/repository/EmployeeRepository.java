@@ -1,19 +1,50 @@
 package com.demo.springboot.employee.repository;
 
 import com.demo.springboot.employee.domain.Employee;
+import com.demo.springboot.employee.domain.EmployeeSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_PASS_DISTINCT_THROUGH;
 
-public interface EmployeeRepository extends CrudRepository<Employee, Long> {
 
-    Optional<Employee> findByUsername(String username);
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeRepositoryCustom {
 
-    @Query("SELECT u FROM Employee u WHERE u.activeStatus = 'active'")
-    List<Employee> findAllActiveEmployees();
+    /**
+     * The roles are fetched with the employee by a JPQL join fetch rather than an entity graph,
+     * a query carrying an entity graph is compiled again on every call instead of using the query plan cache
+     */
+    @QueryHints(@QueryHint(name = HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    @Query("SELECT DISTINCT e FROM Employee e LEFT JOIN FETCH e.roles WHERE e.username = :username")
+    Optional<Employee> findByUsername(@Param("username") String username);
+
+    @Query("SELECT e.id FROM Employee e WHERE e.username = :username")
+    Optional<Long> findIdByUsername(@Param("username") String username);
+
+    @Query("SELECT e.username FROM Employee e WHERE e.username IN :usernames")
+    List<String> findUsernamesByUsernameIn(@Param("usernames") Collection<String> usernames);
+
+    @Override
+    @QueryHints(@QueryHint(name = HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    @Query("SELECT DISTINCT e FROM Employee e LEFT JOIN FETCH e.roles WHERE e.id = :id")
+    Optional<Employee> findById(@Param("id") Long id);
+
+    /**
+     * Stream every employee, active or not, with id greater than afterId.
+     * It has to be consumed inside a transaction, rows are read through a database cursor.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.demo.springboot.employee.domain.EmployeeSummary(e.id, e.username, e.firstName, e.lastName, e.activeStatus, e.registeredDate, e.deletedDate)"
+            + " FROM Employee e WHERE e.id > :afterId ORDER BY e.id")
+    Stream<EmployeeSummary> streamAllAfter(@Param("afterId") Long afterId);
 
 }
@@ -0,0 +1,62 @@
+package com.demo.springboot.employee.repository;
+
+import com.demo.springboot.employee.domain.EmployeeVersion;
+import com.demo.springboot.employee.domain.EmployeeView;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+
+public interface EmployeeRepositoryCustom {
+
+    /**
+     * Keyset page of active employees ordered by id, projected with their roles in two queries
+     * @param afterId exclusive lower bound of id, null for the first page
+     * @param name optional first name or last name prefix
+     * @param roleName optional role name
+     * @param limit maximum number of rows
+     * @return
+     */
+    List<EmployeeView> findActiveEmployeeViews(Long afterId, String name, String roleName, int limit);
+
+    /**
+     * Ids and versions of the keyset page {@link #findActiveEmployeeViews(Long, String, String, int)} returns, in a single query
+     * @param afterId exclusive lower bound of id, null for the first page
+     * @param name optional first name or last name prefix
+     * @param roleName optional role name
+     * @param limit maximum number of rows
+     * @return
+     */
+    List<EmployeeVersion> findActiveEmployeeVersions(Long afterId, String name, String roleName, int limit);
+
+    /**
+     * Employee by id, active or not, projected with its roles in a single query
+     * @param id
+     * @return
+     */
+    Optional<EmployeeView> findEmployeeView(Long id);
+
+    /**
+     * Usernames of the active employees matching every given criterion
+     * @param ids optional employee ids
+     * @param name optional first name or last name prefix
+     * @param roleName optional role name
+     * @return
+     */
+    List<String> findActiveUsernames(Collection<Long> ids, String name, String roleName);
+
+    /**
+     * Soft delete the active employees matching every given criterion with a single update statement
+     * and increment their versions
+     * The persistence context is bypassed, loaded employees are not refreshed
+     * @param ids optional employee ids
+     * @param name optional first name or last name prefix
+     * @param roleName optional role name
+     * @param deletedDate
+     * @return number of soft deleted employees
+     */
+    int softDeleteActiveEmployees(Collection<Long> ids, String name, String roleName, Timestamp deletedDate);
+
+}
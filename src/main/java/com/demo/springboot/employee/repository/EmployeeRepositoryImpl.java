@@ -0,0 +1,186 @@
+package com.demo.springboot.employee.repository;
+
+import com.demo.springboot.employee.constant.ActiveStatus;
+import com.demo.springboot.employee.domain.Employee;
+import com.demo.springboot.employee.domain.EmployeeVersion;
+import com.demo.springboot.employee.domain.EmployeeView;
+import com.demo.springboot.employee.domain.Role;
+import com.demo.springboot.employee.domain.RoleView;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.*;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+
+public class EmployeeRepositoryImpl implements EmployeeRepositoryCustom {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<EmployeeView> findActiveEmployeeViews(Long afterId, String name, String roleName, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EmployeeView> query = criteriaBuilder.createQuery(EmployeeView.class);
+        Root<Employee> employee = query.from(Employee.class);
+
+        List<Predicate> predicates = activeEmployeePredicates(criteriaBuilder, query, employee, null, name, roleName);
+        if (afterId != null) {
+            predicates.add(criteriaBuilder.greaterThan(employee.<Long>get("id"), afterId));
+        }
+
+        query.select(employeeView(criteriaBuilder, employee))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(criteriaBuilder.asc(employee.get("id")));
+
+        return withRoles(entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList());
+    }
+
+    @Override
+    public List<EmployeeVersion> findActiveEmployeeVersions(Long afterId, String name, String roleName, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EmployeeVersion> query = criteriaBuilder.createQuery(EmployeeVersion.class);
+        Root<Employee> employee = query.from(Employee.class);
+
+        List<Predicate> predicates = activeEmployeePredicates(criteriaBuilder, query, employee, null, name, roleName);
+        if (afterId != null) {
+            predicates.add(criteriaBuilder.greaterThan(employee.<Long>get("id"), afterId));
+        }
+
+        query.select(criteriaBuilder.construct(EmployeeVersion.class, employee.get("id"), employee.get("version")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(criteriaBuilder.asc(employee.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Optional<EmployeeView> findEmployeeView(Long id) {
+        // a single employee doesn't multiply rows, so its roles are joined in the same query
+        List<Object[]> rows = entityManager.createQuery(
+                "SELECT e.id, e.username, e.firstName, e.lastName, e.activeStatus, e.registeredDate, e.deletedDate,"
+                        + " r.id, r.roleName, r.description, e.version FROM Employee e LEFT JOIN e.roles r WHERE e.id = :id ORDER BY r.id", Object[].class)
+                .setParameter("id", id)
+                .getResultList();
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Object[] employee = rows.get(0);
+        List<RoleView> roles = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            if (row[7] != null) {
+                roles.add(new RoleView((Long) row[7], (String) row[8], (String) row[9]));
+            }
+        }
+        return Optional.of(new EmployeeView((Long) employee[0], (String) employee[1], (String) employee[2], (String) employee[3],
+                (String) employee[4], (Date) employee[5], (Date) employee[6], Collections.unmodifiableList(roles), (Long) employee[10]));
+    }
+
+    @Override
+    public List<String> findActiveUsernames(Collection<Long> ids, String name, String roleName) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<String> query = criteriaBuilder.createQuery(String.class);
+        Root<Employee> employee = query.from(Employee.class);
+
+        query.select(employee.<String>get("username"))
+                .where(activeEmployeePredicates(criteriaBuilder, query, employee, ids, name, roleName).toArray(new Predicate[0]));
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public int softDeleteActiveEmployees(Collection<Long> ids, String name, String roleName, Timestamp deletedDate) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Employee> update = criteriaBuilder.createCriteriaUpdate(Employee.class);
+        Root<Employee> employee = update.from(Employee.class);
+
+        update.set(employee.<String>get("activeStatus"), ActiveStatus.INACTIVE.getDesc())
+                .set(employee.<Timestamp>get("deletedDate"), deletedDate)
+                .set(employee.<Long>get("version"), criteriaBuilder.sum(employee.<Long>get("version"), 1L))
+                .where(activeEmployeePredicates(criteriaBuilder, update, employee, ids, name, roleName).toArray(new Predicate[0]));
+
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    private CompoundSelection<EmployeeView> employeeView(CriteriaBuilder criteriaBuilder, Root<Employee> employee) {
+        return criteriaBuilder.construct(EmployeeView.class,
+                employee.get("id"), employee.get("username"), employee.get("firstName"), employee.get("lastName"),
+                employee.get("activeStatus"), employee.get("registeredDate"), employee.get("deletedDate"), employee.get("version"));
+    }
+
+    /**
+     * Attach the roles of every employee view with one more query selecting the role columns only
+     */
+    private List<EmployeeView> withRoles(List<EmployeeView> employeeViews) {
+        if (employeeViews.isEmpty()) {
+            return employeeViews;
+        }
+        List<Object[]> rows = entityManager.createQuery(
+                "SELECT e.id, r.id, r.roleName, r.description FROM Employee e JOIN e.roles r WHERE e.id IN :ids ORDER BY r.id", Object[].class)
+                .setParameter("ids", employeeViews.stream()
+                        .map(EmployeeView::getId)
+                        .collect(Collectors.toList()))
+                .getResultList();
+        Map<Long, List<RoleView>> roles = new HashMap<>();
+        for (Object[] row : rows) {
+            roles.computeIfAbsent((Long) row[0], employeeId -> new ArrayList<>())
+                    .add(new RoleView((Long) row[1], (String) row[2], (String) row[3]));
+        }
+        return employeeViews.stream()
+                .map(employeeView -> employeeView.withRoles(roles.getOrDefault(employeeView.getId(), Collections.emptyList())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Predicates shared by the listing, the bulk soft delete and its username lookup, so both select the same employees
+     */
+    private List<Predicate> activeEmployeePredicates(CriteriaBuilder criteriaBuilder, CommonAbstractCriteria criteria, Root<Employee> employee,
+                                                     Collection<Long> ids, String name, String roleName) {
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(criteriaBuilder.equal(employee.get("activeStatus"), ActiveStatus.ACTIVE.getDesc()));
+        if (ids != null) {
+            predicates.add(employee.<Long>get("id").in(ids));
+        }
+        if (name != null) {
+            String pattern = escapeLike(name.toLowerCase()) + "%";
+            predicates.add(criteriaBuilder.or(
+                    criteriaBuilder.like(criteriaBuilder.lower(employee.<String>get("firstName")), pattern, LIKE_ESCAPE),
+                    criteriaBuilder.like(criteriaBuilder.lower(employee.<String>get("lastName")), pattern, LIKE_ESCAPE)));
+        }
+        if (roleName != null) {
+            Subquery<Long> roleQuery = criteria.subquery(Long.class);
+            Root<Employee> roleOwner = roleQuery.from(Employee.class);
+            Join<Employee, Role> role = roleOwner.join("roles");
+            roleQuery.select(roleOwner.<Long>get("id"))
+                    .where(criteriaBuilder.equal(roleOwner.get("id"), employee.get("id")),
+                            criteriaBuilder.equal(role.get("roleName"), roleName));
+            predicates.add(criteriaBuilder.exists(roleQuery));
+        }
+        return predicates;
+    }
+
+    /**
+     * Escape the wildcards of a user supplied LIKE prefix, so % and _ only match themselves
+     */
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
+}
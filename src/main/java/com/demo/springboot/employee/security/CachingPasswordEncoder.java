@@ -0,0 +1,88 @@
+package com.demo.springboot.employee.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password encoder that remembers successful verifications for a short time.
+ * Entries are keyed by an HMAC of the stored hash and the presented password under a random key that only lives
+ * in this instance, so neither the password nor a cheap-to-attack hash of it is ever kept in memory.
+ * Failed verifications are never cached and always go through the delegate.
+ */
+public class CachingPasswordEncoder implements PasswordEncoder {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final PasswordEncoder delegate;
+
+    private final Cache<String, Boolean> verifiedPasswords;
+
+    private final ThreadLocal<Mac> mac;
+
+    public CachingPasswordEncoder(PasswordEncoder delegate, long maximumSize, long expireAfterWriteSeconds) {
+        this.delegate = delegate;
+        this.verifiedPasswords = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWriteSeconds, TimeUnit.SECONDS)
+                .build();
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        SecretKeySpec keySpec = new SecretKeySpec(key, HMAC_ALGORITHM);
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(HMAC_ALGORITHM);
+                instance.init(keySpec);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(HMAC_ALGORITHM + " is not available", e);
+            }
+        });
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return delegate.matches(rawPassword, encodedPassword);
+        }
+        String key = verificationKey(rawPassword, encodedPassword);
+        if (verifiedPasswords.getIfPresent(key) != null) {
+            return true;
+        }
+        boolean matches = delegate.matches(rawPassword, encodedPassword);
+        if (matches) {
+            verifiedPasswords.put(key, Boolean.TRUE);
+        }
+        return matches;
+    }
+
+    /**
+     * Forget every remembered verification
+     */
+    public void clear() {
+        verifiedPasswords.invalidateAll();
+    }
+
+    private String verificationKey(CharSequence rawPassword, String encodedPassword) {
+        Mac instance = mac.get();
+        // the stored hash carries a per-user salt, so it scopes the entry to one account
+        instance.update(encodedPassword.getBytes(StandardCharsets.UTF_8));
+        instance.update((byte) 0);
+        return Base64.getEncoder().encodeToString(
+                instance.doFinal(rawPassword.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+}
@@ -0,0 +1,132 @@
+package com.demo.springboot.employee.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.common.exceptions.InvalidTokenException;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.token.AccessTokenConverter;
+import org.springframework.security.oauth2.provider.token.ResourceServerTokenServices;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resource server token services which remember the authentication of verified access tokens.
+ * Entries are keyed by the SHA-256 of the token and live until the token's own expiry at the latest,
+ * so a repeated bearer token skips the signature verification and the authority decoding of the delegate.
+ * The expiry comes from the exp claim the delegate keeps as details of the authentication, the token isn't decoded again.
+ * Tokens without an expiry and tokens the delegate rejects are never cached.
+ */
+public class CachingResourceServerTokenServices implements ResourceServerTokenServices {
+
+    private final ResourceServerTokenServices delegate;
+
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    public CachingResourceServerTokenServices(ResourceServerTokenServices delegate, long maximumSize) {
+        this.delegate = delegate;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public OAuth2Authentication loadAuthentication(String accessToken) throws AuthenticationException, InvalidTokenException {
+        String key = tokenHash(accessToken);
+        VerifiedToken verifiedToken = verifiedTokens.getIfPresent(key);
+        if (verifiedToken == null || verifiedToken.isExpired()) {
+            OAuth2Authentication authentication = delegate.loadAuthentication(accessToken);
+            Long expiresAtMillis = expiresAtMillis(authentication);
+            if (expiresAtMillis == null) {
+                return authentication;
+            }
+            verifiedToken = new VerifiedToken(authentication, expiresAtMillis);
+            verifiedTokens.put(key, verifiedToken);
+        }
+        // the authentication manager sets the request details on the returned authentication, so every caller gets its own
+        OAuth2Authentication authentication = new OAuth2Authentication(verifiedToken.authentication.getOAuth2Request(),
+                verifiedToken.authentication.getUserAuthentication());
+        authentication.setDetails(verifiedToken.authentication.getDetails());
+        return authentication;
+    }
+
+    @Override
+    public OAuth2AccessToken readAccessToken(String accessToken) {
+        return delegate.readAccessToken(accessToken);
+    }
+
+    public Cache<String, ?> getCache() {
+        return verifiedTokens;
+    }
+
+    /**
+     * The expiry of the token, taken from the claims the delegate left as details of the authentication
+     * @see ClaimsDetailsAccessTokenConverter
+     */
+    private static Long expiresAtMillis(OAuth2Authentication authentication) {
+        if (!(authentication.getDetails() instanceof Map)) {
+            return null;
+        }
+        Object expiration = ((Map<?, ?>) authentication.getDetails()).get(AccessTokenConverter.EXP);
+        return expiration instanceof Number ? TimeUnit.SECONDS.toMillis(((Number) expiration).longValue()) : null;
+    }
+
+    private static String tokenHash(String accessToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(accessToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class VerifiedToken {
+
+        private final OAuth2Authentication authentication;
+
+        private final long expiresAtMillis;
+
+        private VerifiedToken(OAuth2Authentication authentication, long expiresAtMillis) {
+            this.authentication = authentication;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        private long remainingNanos() {
+            return Math.max(0, TimeUnit.MILLISECONDS.toNanos(expiresAtMillis - System.currentTimeMillis()));
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAtMillis;
+        }
+
+    }
+
+    private static final class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            return value.remainingNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return value.remainingNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.demo.springboot.employee.security;
+
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.token.DefaultAccessTokenConverter;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Access token converter which keeps the verified claims of a token as the details of its authentication,
+ * so the expiry can be read from the loaded authentication without decoding the token again.
+ * The authentication manager keeps them as the decoded details of the request.
+ */
+public class ClaimsDetailsAccessTokenConverter extends DefaultAccessTokenConverter {
+
+    @Override
+    public OAuth2Authentication extractAuthentication(Map<String, ?> claims) {
+        OAuth2Authentication authentication = super.extractAuthentication(claims);
+        authentication.setDetails(Collections.unmodifiableMap(new LinkedHashMap<>(claims)));
+        return authentication;
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.demo.springboot.employee.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password encoder which times the hashing and the verification of its delegate, e.g. BCrypt
+ * Verifications are tagged with their outcome, a failed verification costs as much as a successful one
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+
+    private final Timer encodeTimer;
+
+    private final Timer matchedTimer;
+
+    private final Timer mismatchedTimer;
+
+    public TimedPasswordEncoder(PasswordEncoder delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.encodeTimer = Timer.builder("security.password.encode")
+                .description("Time spent hashing passwords")
+                .register(meterRegistry);
+        this.matchedTimer = Timer.builder("security.password.matches")
+                .description("Time spent verifying passwords")
+                .tag("outcome", "matched")
+                .register(meterRegistry);
+        this.mismatchedTimer = Timer.builder("security.password.matches")
+                .description("Time spent verifying passwords")
+                .tag("outcome", "mismatched")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        long start = System.nanoTime();
+        try {
+            return delegate.encode(rawPassword);
+        } finally {
+            encodeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        long start = System.nanoTime();
+        boolean matched = false;
+        try {
+            matched = delegate.matches(rawPassword, encodedPassword);
+            return matched;
+        } finally {
+            (matched ? matchedTimer : mismatchedTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+}
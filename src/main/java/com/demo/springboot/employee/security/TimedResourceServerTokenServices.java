@@ -0,0 +1,55 @@
+package com.demo.springboot.employee.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.common.exceptions.InvalidTokenException;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.token.ResourceServerTokenServices;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resource server token services which time the access token verification of their delegate,
+ * i.e. the JWT signature check and the decoding of the authentication
+ */
+public class TimedResourceServerTokenServices implements ResourceServerTokenServices {
+
+    private final ResourceServerTokenServices delegate;
+
+    private final Timer verifiedTimer;
+
+    private final Timer rejectedTimer;
+
+    public TimedResourceServerTokenServices(ResourceServerTokenServices delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.verifiedTimer = Timer.builder("security.token.verify")
+                .description("Time spent verifying access tokens")
+                .tag("outcome", "verified")
+                .register(meterRegistry);
+        this.rejectedTimer = Timer.builder("security.token.verify")
+                .description("Time spent verifying access tokens")
+                .tag("outcome", "rejected")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public OAuth2Authentication loadAuthentication(String accessToken) throws AuthenticationException, InvalidTokenException {
+        long start = System.nanoTime();
+        boolean verified = false;
+        try {
+            OAuth2Authentication authentication = delegate.loadAuthentication(accessToken);
+            verified = true;
+            return authentication;
+        } finally {
+            (verified ? verifiedTimer : rejectedTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public OAuth2AccessToken readAccessToken(String accessToken) {
+        return delegate.readAccessToken(accessToken);
+    }
+
+}
@@ -1,9 +1,15 @@
 package com.demo.springboot.employee.service;
 
 import com.demo.springboot.employee.domain.Employee;
+import com.demo.springboot.employee.domain.EmployeeSummary;
+import com.demo.springboot.employee.domain.EmployeeVersion;
+import com.demo.springboot.employee.domain.EmployeeView;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 
 public interface EmployeeService {
@@ -12,12 +18,28 @@ public interface EmployeeService {
 
     Optional<Employee> findById(Long id);
 
-    List<Employee> findAll();
+    Optional<EmployeeView> findViewById(Long id);
+
+    Optional<EmployeeView> findViewByUsername(String username);
+
+    List<EmployeeView> findAll(String name, String roleName, Long afterId, int limit);
+
+    List<EmployeeVersion> findVersions(String name, String roleName, Long afterId, int limit);
+
+    void exportAll(Long afterId, Consumer<EmployeeSummary> consumer);
 
     void register(Employee employee);
 
+    Set<String> findExistingUsernames(Collection<String> usernames);
+
+    List<Employee> registerAll(List<Employee> employees);
+
     void update(Employee employee);
 
     void delete(Long id);
 
+    void delete(Long id, Long expectedVersion);
+
+    int deleteAll(Collection<Long> ids, String name, String roleName);
+
 }
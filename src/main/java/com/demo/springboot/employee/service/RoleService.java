@@ -0,0 +1,16 @@
+package com.demo.springboot.employee.service;
+
+import com.demo.springboot.employee.domain.Role;
+
+import java.util.Collection;
+
+
+public interface RoleService {
+
+    Role findByRoleName(String roleName);
+
+    Collection<Role> findAll();
+
+    void refresh();
+
+}
@@ -1,42 +1,104 @@
 package com.demo.springboot.employee.service.impl;
 
+import com.demo.springboot.employee.constant.ActiveStatus;
 import com.demo.springboot.employee.domain.Employee;
 import com.demo.springboot.employee.repository.EmployeeRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Loads employees for authentication.
+ * Loaded users are kept in a bounded, TTL-based cache keyed by username; callers must evict
+ * a username whenever the employee behind it changes.
+ */
 @Component
 public class AppUserDetailsService implements UserDetailsService {
 
+    public static final String CACHE_NAME = "userDetails";
+
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${employee.user-details-cache.maximum-size:10000}")
+    private long maximumSize = 10_000;
+
+    @Value("${employee.user-details-cache.expire-after-write-seconds:300}")
+    private long expireAfterWriteSeconds = 300;
+
+    private Cache<String, User> userDetailsCache;
+
+    @PostConstruct
+    public void init() {
+        userDetailsCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWriteSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, userDetailsCache, CACHE_NAME);
+    }
+
     @Override
     public UserDetails loadUserByUsername(String userName) throws UsernameNotFoundException {
+        User cachedUser = userDetailsCache.get(userName, this::load);
+        if (cachedUser == null) {
+            throw new UsernameNotFoundException(String.format("The username %s doesn't exist", userName));
+        }
+        // the authentication manager erases the credentials of the returned user, so the cached one is never handed out
+        return new User(cachedUser.getUsername(), cachedUser.getPassword(), cachedUser.isEnabled(),
+                true, true, true, cachedUser.getAuthorities());
+    }
+
+    /**
+     * Evict the cached user details of a username
+     * @param userName
+     */
+    public void evict(String userName) {
+        if (userName != null) {
+            userDetailsCache.invalidate(userName);
+        }
+    }
+
+    /**
+     * Evict every cached user details
+     */
+    public void evictAll() {
+        userDetailsCache.invalidateAll();
+    }
+
+    private User load(String userName) {
         Optional<Employee> employeeOptional = employeeRepository.findByUsername(userName);
 
         if(!employeeOptional.isPresent()) {
-            throw new UsernameNotFoundException(String.format("The username %s doesn't exist", userName));
+            return null;
         }
         Employee employee = employeeOptional.get();
         List<GrantedAuthority> authorities = new ArrayList<>();
         employee.getRoles().forEach(role -> {
             authorities.add(new SimpleGrantedAuthority(role.getRoleName()));
         });
+        boolean enabled = !ActiveStatus.INACTIVE.getDesc().equals(employee.getActiveStatus());
 
-        UserDetails userDetails = new org.springframework.security.core.userdetails.
-                User(employee.getUsername(), employee.getPassword(), authorities);
-
-        return userDetails;
+        return new User(employee.getUsername(), employee.getPassword(), enabled, true, true, true, authorities);
     }
 
 }
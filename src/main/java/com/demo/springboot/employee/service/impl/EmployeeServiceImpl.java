@@ -3,25 +3,59 @@ package com.demo.springboot.employee.service.impl;
 import com.demo.springboot.employee.constant.ActiveStatus;
 import com.demo.springboot.employee.constant.StatusConstants;
 import com.demo.springboot.employee.domain.Employee;
+import com.demo.springboot.employee.domain.EmployeeSummary;
+import com.demo.springboot.employee.domain.EmployeeVersion;
+import com.demo.springboot.employee.domain.EmployeeView;
+import com.demo.springboot.employee.domain.Role;
 import com.demo.springboot.employee.exception.ServiceException;
+import com.demo.springboot.employee.invalidation.EmployeeCacheInvalidator;
 import com.demo.springboot.employee.repository.EmployeeRepository;
 import com.demo.springboot.employee.service.EmployeeService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.StringUtils;
 
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 
 @Service
 public class EmployeeServiceImpl implements EmployeeService {
 
+    private static final String USERNAME_UNIQUE_INDEX = "ux_employee_username";
+
+    private static final int USERNAME_LOOKUP_CHUNK_SIZE = 1000;
+
+    private static final int DELETE_ID_CHUNK_SIZE = 1000;
+
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private AppUserDetailsService appUserDetailsService;
+
+    @Autowired
+    private EmployeeViewCache employeeViewCache;
+
+    @Autowired
+    private EmployeeCacheInvalidator employeeCacheInvalidator;
+
     /**
      * Find by username
      * @param username
@@ -47,58 +81,177 @@ public class EmployeeServiceImpl implements EmployeeService {
     }
 
     /**
-     * Find all active employees
+     * Find by id as a read-only view, for responses
+     * Views are read through the employee view cache, a cached view is served without a transaction or a connection
+     * @param id
      * @return
-     * @see Employee
+     * @see EmployeeView
+     */
+    @Override
+    public Optional<EmployeeView> findViewById(Long id) {
+        return employeeViewCache.getById(id, employeeRepository::findEmployeeView);
+    }
+
+    /**
+     * Find by username as a read-only view, through the employee view cache
+     * @param username
+     * @return
+     * @see EmployeeView
+     */
+    @Override
+    public Optional<EmployeeView> findViewByUsername(String username) {
+        return employeeViewCache.getByUsername(username, employeeRepository::findIdByUsername, employeeRepository::findEmployeeView);
+    }
+
+    /**
+     * Find a keyset page of active employees ordered by id as read-only views
+     * Rows and roles are projected in two queries whatever the page size, no entity is hydrated
+     * and the read-only transaction never flushes
+     * @param name first name or last name prefix, optional
+     * @param roleName optional
+     * @param afterId last id of the previous page, null for the first page
+     * @param limit
+     * @return
+     * @see EmployeeView
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeView> findAll(String name, String roleName, Long afterId, int limit) {
+        return employeeRepository.findActiveEmployeeViews(afterId, name, roleName, limit);
+    }
+
+    /**
+     * Find the ids and versions of the page {@link #findAll(String, String, Long, int)} returns
+     * A single query selecting two columns, enough to tell whether a client's copy of the page is current
+     * @param name first name or last name prefix, optional
+     * @param roleName optional
+     * @param afterId last id of the previous page, null for the first page
+     * @param limit
+     * @return
+     * @see EmployeeVersion
      */
     @Override
-    public List<Employee> findAll() {
-        return employeeRepository.findAllActiveEmployees();
+    @Transactional(readOnly = true)
+    public List<EmployeeVersion> findVersions(String name, String roleName, Long afterId, int limit) {
+        return employeeRepository.findActiveEmployeeVersions(afterId, name, roleName, limit);
+    }
+
+    /**
+     * Stream every employee with id greater than afterId ordered by id
+     * Rows are read as role-less summaries, so no entity is added to the persistence context
+     * @param afterId last id already exported, null to start from the beginning
+     * @param consumer
+     * @see EmployeeSummary
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAll(Long afterId, Consumer<EmployeeSummary> consumer) {
+        try (Stream<EmployeeSummary> employeeStream = employeeRepository.streamAllAfter(afterId == null ? 0L : afterId)) {
+            employeeStream.forEach(consumer);
+        }
     }
 
     /**
      * Save new employee if username not exists
+     * It is a single insert, a taken username is detected by the unique index on username
      * @param employee
      * @see Employee
      * @throws ServiceException
      */
     @Override
     public void register(Employee employee) {
-        Optional<Employee> employeeOptional = findByUserName(employee.getUsername());
-        if (employeeOptional.isPresent()) {
-            throw new ServiceException(StatusConstants.HttpConstants.USERNAME_IS_ALREADY_EXIST);
+        try {
+            employeeRepository.save(employee);
+        } catch (DataIntegrityViolationException e) {
+            if (isUsernameConstraintViolation(e)) {
+                throw ServiceException.of(StatusConstants.HttpConstants.USERNAME_IS_ALREADY_EXIST);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Find which of the usernames are already taken, active or not
+     * @param usernames
+     * @return
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Set<String> findExistingUsernames(Collection<String> usernames) {
+        List<String> candidates = new ArrayList<>(usernames);
+        Set<String> existingUsernames = new HashSet<>();
+        for (int from = 0; from < candidates.size(); from += USERNAME_LOOKUP_CHUNK_SIZE) {
+            existingUsernames.addAll(employeeRepository.findUsernamesByUsernameIn(
+                    candidates.subList(from, Math.min(from + USERNAME_LOOKUP_CHUNK_SIZE, candidates.size()))));
+        }
+        return existingUsernames;
+    }
+
+    /**
+     * Save new employees in one transaction
+     * Ids are pre-allocated from the sequence, so the employee and user_role rows go out as JDBC batches
+     * @param employees
+     * @return saved employees with their ids
+     * @see Employee
+     * @throws ServiceException if one of the usernames was taken in the meantime, nothing is saved then
+     */
+    @Override
+    @Transactional
+    public List<Employee> registerAll(List<Employee> employees) {
+        try {
+            List<Employee> savedEmployees = employeeRepository.saveAll(employees);
+            employeeRepository.flush();
+            return savedEmployees;
+        } catch (DataIntegrityViolationException e) {
+            if (isUsernameConstraintViolation(e)) {
+                throw ServiceException.of(StatusConstants.HttpConstants.USERNAME_IS_ALREADY_EXIST);
+            }
+            throw e;
         }
-        employeeRepository.save(employee);
     }
 
     /**
      * Update employee if username unique
+     * Only the supplied fields are copied onto the managed employee, so the UPDATE only carries the changed columns
+     * and the user_role rows are only rewritten when the set of roles changes
+     * The cached view and the cached user details of the old and the new username are evicted after commit
+     * A version on the request is the one the caller read, the update is refused once the employee moved past it
+     * The UPDATE is flushed here, so a concurrent update committed since the read surfaces as a conflict too
      * @param requestEmployee
      * @see Employee
      * @throws ServiceException
      */
     @Override
+    @Transactional
     public void update(Employee requestEmployee) {
         if(!StringUtils.isEmpty(requestEmployee.getUsername())) {
             String username = requestEmployee.getUsername();
-            Optional<Employee> optionalEmployee = findByUserName(username);
+            Optional<EmployeeView> optionalEmployee = findViewByUsername(username);
             if(optionalEmployee.isPresent()) {
-                throw new ServiceException(StatusConstants.HttpConstants.USERNAME_IS_ALREADY_EXIST);
+                throw ServiceException.of(StatusConstants.HttpConstants.USERNAME_IS_ALREADY_EXIST);
             }
         }
         Optional<Employee> employeeOptional = findById(requestEmployee.getId());
         if (employeeOptional.isPresent()) {
             Employee employee = employeeOptional.get();
+            checkVersion(employee, requestEmployee.getVersion());
+            String previousUsername = employee.getUsername();
             employee.setUsername(StringUtils.isEmpty(requestEmployee.getUsername()) ? employee.getUsername() : requestEmployee.getUsername());
             employee.setFirstName(StringUtils.isEmpty(requestEmployee.getFirstName()) ? employee.getFirstName() : requestEmployee.getFirstName());
             employee.setLastName(StringUtils.isEmpty(requestEmployee.getLastName()) ? employee.getLastName() : requestEmployee.getLastName());
-            employee.setActiveStatus(requestEmployee.getActiveStatus());
-            employee.setDeletedDate(requestEmployee.getDeletedDate());
+            if (!StringUtils.isEmpty(requestEmployee.getActiveStatus())) {
+                employee.setActiveStatus(requestEmployee.getActiveStatus());
+                employee.setDeletedDate(requestEmployee.getDeletedDate());
+            }
             employee.setPassword(StringUtils.isEmpty(requestEmployee.getPassword()) ? employee.getPassword() : requestEmployee.getPassword());
-            employee.setRoles(requestEmployee.getRoles() == null || requestEmployee.getRoles().size() == 0 ? employee.getRoles() : requestEmployee.getRoles());
-            employeeRepository.save(employee);
+            if (requestEmployee.getRoles() != null && requestEmployee.getRoles().size() > 0
+                    && !roleIds(requestEmployee.getRoles()).equals(roleIds(employee.getRoles()))) {
+                employee.setRoles(requestEmployee.getRoles());
+            }
+            saveAndFlush(employee);
+            evict(employee.getId(), previousUsername, employee.getUsername());
         } else {
-            throw new ServiceException(StatusConstants.HttpConstants.EMPLOYEE_ID_IS_NOT_FOUND);
+            throw ServiceException.of(StatusConstants.HttpConstants.EMPLOYEE_ID_IS_NOT_FOUND);
         }
     }
 
@@ -106,19 +259,141 @@ public class EmployeeServiceImpl implements EmployeeService {
      * Delete by id
      * It is a soft delete
      * It will change the activeStatus = "active" to "inactive"
+     * The cached view and user details are evicted, so the employee can no longer authenticate
      * @param id
      * @throws ServiceException
      */
     @Override
     public void delete(Long id) {
+        delete(id, null);
+    }
+
+    /**
+     * Delete by id if the employee is still at the expected version
+     * The save merges the employee read here, so a concurrent update committed since the read surfaces as a conflict too
+     * @param id
+     * @param expectedVersion optional
+     * @throws ServiceException
+     */
+    @Override
+    public void delete(Long id, Long expectedVersion) {
         Optional<Employee> employeeOptional = findById(id);
         if (employeeOptional.isPresent()) {
             Employee employee = employeeOptional.get();
+            checkVersion(employee, expectedVersion);
             employee.setActiveStatus(ActiveStatus.INACTIVE.getDesc());
             employee.setDeletedDate(new Timestamp(new Date().getTime()));
-            employeeRepository.save(employee);
+            saveAndFlush(employee);
+            evict(employee.getId(), employee.getUsername());
+        } else {
+            throw ServiceException.of(StatusConstants.HttpConstants.EMPLOYEE_ID_IS_NOT_FOUND);
+        }
+    }
+
+    /**
+     * Soft delete every active employee matching the ids and the filter in one transaction
+     * Each chunk of ids, or the filter alone, is a single UPDATE, no employee is loaded
+     * The cached user details of the deleted employees and every cached view are evicted after commit,
+     * the other nodes are told every employee may have changed
+     * @param ids optional employee ids, unknown and inactive ids are ignored
+     * @param name optional first name or last name prefix
+     * @param roleName optional role name
+     * @return number of soft deleted employees
+     */
+    @Override
+    @Transactional
+    public int deleteAll(Collection<Long> ids, String name, String roleName) {
+        Timestamp deletedDate = new Timestamp(new Date().getTime());
+        List<Long> idList = ids == null ? null : new ArrayList<>(new HashSet<>(ids));
+        List<String> usernames = new ArrayList<>();
+        int deletedCount = 0;
+        int from = 0;
+        do {
+            List<Long> chunk = idList == null ? null : idList.subList(from, Math.min(from + DELETE_ID_CHUNK_SIZE, idList.size()));
+            usernames.addAll(employeeRepository.findActiveUsernames(chunk, name, roleName));
+            deletedCount += employeeRepository.softDeleteActiveEmployees(chunk, name, roleName, deletedDate);
+            from += DELETE_ID_CHUNK_SIZE;
+        } while (idList != null && from < idList.size());
+
+        // the filter may match any cached view, bulk deletes are rare enough to drop them all
+        runAfterCommit(() -> {
+            employeeViewCache.evictAll();
+            employeeCacheInvalidator.publishAll();
+        });
+        if (deletedCount > usernames.size()) {
+            // an employee was activated between the select and the update, its username is unknown
+            runAfterCommit(appUserDetailsService::evictAll);
+        } else {
+            evictUserDetails(usernames.toArray(new String[0]));
+        }
+        return deletedCount;
+    }
+
+    private boolean isUsernameConstraintViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null && cause.getMessage().toLowerCase().contains(USERNAME_UNIQUE_INDEX)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Set<Long> roleIds(List<Role> roles) {
+        return roles == null ? Collections.emptySet() : roles.stream()
+                .map(Role::getId)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Refuse the change when the caller read another version of the employee than the stored one
+     */
+    private static void checkVersion(Employee employee, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(employee.getVersion())) {
+            throw ServiceException.of(StatusConstants.HttpConstants.EMPLOYEE_VERSION_CONFLICT);
+        }
+    }
+
+    private void saveAndFlush(Employee employee) {
+        try {
+            employeeRepository.saveAndFlush(employee);
+        } catch (OptimisticLockingFailureException e) {
+            throw ServiceException.of(StatusConstants.HttpConstants.EMPLOYEE_VERSION_CONFLICT);
+        }
+    }
+
+    /**
+     * Evict the cached view and user details of an employee and tell the other nodes, after commit when a transaction is running
+     * so a concurrent read can't cache the state being replaced
+     * @param id
+     * @param usernames
+     */
+    private void evict(Long id, String... usernames) {
+        runAfterCommit(() -> {
+            employeeViewCache.evict(id, usernames);
+            Arrays.stream(usernames).forEach(appUserDetailsService::evict);
+            employeeCacheInvalidator.publish(id, usernames);
+        });
+    }
+
+    /**
+     * Evict cached user details, after commit when a transaction is running
+     * so a concurrent login can't cache the state being replaced
+     * @param usernames
+     */
+    private void evictUserDetails(String... usernames) {
+        runAfterCommit(() -> Arrays.stream(usernames).forEach(appUserDetailsService::evict));
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
         } else {
-            throw new ServiceException(StatusConstants.HttpConstants.EMPLOYEE_ID_IS_NOT_FOUND);
+            action.run();
         }
     }
 
@@ -0,0 +1,120 @@
+package com.demo.springboot.employee.service.impl;
+
+import com.demo.springboot.employee.domain.EmployeeView;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of employee views by id, with an index of ids by username.
+ * Both are bounded and TTL-based, unknown ids and usernames are never cached.
+ * Callers must evict an employee whenever it changes; a username is resolved through its id,
+ * so changing the employee behind an id only requires evicting that id.
+ */
+@Component
+public class EmployeeViewCache {
+
+    public static final String CACHE_NAME = "employeeViews";
+
+    public static final String USERNAME_INDEX_NAME = "employeeIdsByUsername";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${employee.employee-view-cache.maximum-size:10000}")
+    private long maximumSize = 10_000;
+
+    @Value("${employee.employee-view-cache.expire-after-write-seconds:60}")
+    private long expireAfterWriteSeconds = 60;
+
+    private Cache<Long, EmployeeView> viewsById;
+
+    private Cache<String, Long> idsByUsername;
+
+    @PostConstruct
+    public void init() {
+        viewsById = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWriteSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+        idsByUsername = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWriteSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, viewsById, CACHE_NAME);
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByUsername, USERNAME_INDEX_NAME);
+    }
+
+    /**
+     * Get the cached view of an id, loading it on a miss
+     * An eviction waits for a load of the same id in progress, so a view read before a commit doesn't outlive its eviction
+     * @param id
+     * @param loader loads the view from the database
+     * @return
+     */
+    public Optional<EmployeeView> getById(Long id, Function<Long, Optional<EmployeeView>> loader) {
+        return Optional.ofNullable(viewsById.get(id, key -> loader.apply(key).orElse(null)));
+    }
+
+    /**
+     * Get the cached view of a username, loading its id and its view on a miss
+     * A resolved view carrying another username means the index is stale, it is reloaded once
+     * @param username
+     * @param idLoader loads the id of the username from the database
+     * @param loader loads the view from the database
+     * @return
+     */
+    public Optional<EmployeeView> getByUsername(String username, Function<String, Optional<Long>> idLoader,
+                                                Function<Long, Optional<EmployeeView>> loader) {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            Long id = idsByUsername.get(username, key -> idLoader.apply(key).orElse(null));
+            if (id == null) {
+                return Optional.empty();
+            }
+            Optional<EmployeeView> employeeView = getById(id, loader);
+            if (employeeView.isPresent() && username.equals(employeeView.get().getUsername())) {
+                return employeeView;
+            }
+            // the employee was changed or removed without an eviction
+            idsByUsername.invalidate(username);
+            viewsById.invalidate(id);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Evict the cached view of an id and the cached ids of usernames
+     * @param id optional
+     * @param usernames usernames the employee had or has, null elements are ignored
+     */
+    public void evict(Long id, String... usernames) {
+        if (id != null) {
+            viewsById.invalidate(id);
+        }
+        for (String username : usernames) {
+            if (username != null) {
+                idsByUsername.invalidate(username);
+            }
+        }
+    }
+
+    /**
+     * Evict every cached view and id
+     */
+    public void evictAll() {
+        viewsById.invalidateAll();
+        idsByUsername.invalidateAll();
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.demo.springboot.employee.service.impl;
+
+import com.demo.springboot.employee.constant.StatusConstants;
+import com.demo.springboot.employee.domain.Role;
+import com.demo.springboot.employee.exception.ServiceException;
+import com.demo.springboot.employee.repository.RoleRepository;
+import com.demo.springboot.employee.service.RoleService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * In-process dictionary of app_role rows keyed by role name.
+ * Every caller gets the same canonical Role instance for a name, so employees reference
+ * the existing rows instead of inserting new ones.
+ */
+@Service
+public class RoleServiceImpl implements RoleService {
+
+    private Logger LOG = LoggerFactory.getLogger(RoleServiceImpl.class);
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    /**
+     * Minimum time between two reloads triggered by an unknown role name
+     */
+    @Value("${employee.role-dictionary.min-refresh-interval-ms:10000}")
+    private long minRefreshIntervalMs = 10_000;
+
+    private volatile Map<String, Role> rolesByName = Collections.emptyMap();
+
+    private volatile long lastRefreshMillis;
+
+    @PostConstruct
+    public void init() {
+        refresh();
+    }
+
+    /**
+     * Find the canonical role by name
+     * An unknown name reloads the dictionary once per refresh interval, so roles added to app_role are picked up
+     * @param roleName
+     * @return
+     * @see Role
+     * @throws ServiceException
+     */
+    @Override
+    public Role findByRoleName(String roleName) {
+        Role role = rolesByName.get(roleName);
+        if (role == null && System.currentTimeMillis() - lastRefreshMillis >= minRefreshIntervalMs) {
+            refresh();
+            role = rolesByName.get(roleName);
+        }
+        if (role == null) {
+            throw ServiceException.of(StatusConstants.HttpConstants.ROLE_IS_NOT_FOUND);
+        }
+        return role;
+    }
+
+    /**
+     * All known roles
+     * @return
+     * @see Role
+     */
+    @Override
+    public Collection<Role> findAll() {
+        return rolesByName.values();
+    }
+
+    /**
+     * Reload every role from app_role and swap the dictionary
+     */
+    @Override
+    public synchronized void refresh() {
+        Map<String, Role> roles = new HashMap<>();
+        roleRepository.findAll().forEach(role -> roles.put(role.getRoleName(), role));
+        rolesByName = Collections.unmodifiableMap(roles);
+        lastRefreshMillis = System.currentTimeMillis();
+        LOG.info("Loaded {} roles", roles.size());
+    }
+
+}
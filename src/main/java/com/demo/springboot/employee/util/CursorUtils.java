@@ -0,0 +1,47 @@
+package com.demo.springboot.employee.util;
+
+import com.demo.springboot.employee.constant.StatusConstants;
+import com.demo.springboot.employee.exception.InvalidRequestException;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for keyset pagination.
+ * The token only carries the last returned id, clients must not rely on its format.
+ */
+public final class CursorUtils {
+
+    private static final String PREFIX = "id:";
+
+    private CursorUtils() {
+    }
+
+    public static String encode(Long lastId) {
+        byte[] token = (PREFIX + lastId).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+    }
+
+    /**
+     * Decode continuation token
+     * @param cursor
+     * @return last returned id, null for an empty cursor
+     * @throws InvalidRequestException
+     */
+    public static Long decode(String cursor) {
+        if (StringUtils.isEmpty(cursor)) {
+            return null;
+        }
+        try {
+            String token = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!token.startsWith(PREFIX)) {
+                throw new InvalidRequestException(StatusConstants.HttpConstants.INVALID_PAGINATION_PARAMETER);
+            }
+            return Long.valueOf(token.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException(StatusConstants.HttpConstants.INVALID_PAGINATION_PARAMETER);
+        }
+    }
+
+}
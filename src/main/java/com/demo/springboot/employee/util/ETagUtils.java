@@ -0,0 +1,98 @@
+package com.demo.springboot.employee.util;
+
+import com.demo.springboot.employee.domain.Versioned;
+
+import java.util.List;
+
+/**
+ * Strong ETags of employees and employee pages, derived from the versions of the rows.
+ * An ETag only identifies a representation of the url it was sent for, so the query parameters aren't part of it.
+ */
+public final class ETagUtils {
+
+    private static final long SEED = 0xcbf29ce484222325L;
+
+    private static final long MULTIPLIER = 0x9e3779b97f4a7c15L;
+
+    private ETagUtils() {
+    }
+
+    public static String of(Versioned row) {
+        return "\"" + row.getId() + "-" + row.getVersion() + "\"";
+    }
+
+    /**
+     * ETag of a page, it changes when a row of the page is updated, leaves or joins it, or a next page appears or disappears
+     * @param page rows of the page in order
+     * @param hasNext
+     * @return
+     */
+    public static String ofPage(List<? extends Versioned> page, boolean hasNext) {
+        long hash = SEED;
+        for (Versioned row : page) {
+            hash = mix(hash, row.getId());
+            hash = mix(hash, row.getVersion());
+        }
+        hash = mix(hash, hasNext ? 1 : 0);
+        return "\"" + page.size() + "-" + Long.toHexString(hash) + "\"";
+    }
+
+    /**
+     * Whether an If-None-Match header matches the ETag, weak comparison as RFC 7232 requires for If-None-Match
+     * @param ifNoneMatch header value, null when absent
+     * @param eTag
+     * @return
+     */
+    public static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if ("*".equals(trimmed)) {
+                return true;
+            }
+            if (trimmed.startsWith("W/")) {
+                trimmed = trimmed.substring(2);
+            }
+            if (trimmed.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Version an If-Match header requires of an employee, strong comparison as RFC 7232 requires for If-Match
+     * @param ifMatch header value, null when absent
+     * @param id
+     * @return the version of the first ETag of the employee, -1 when no ETag can match,
+     * null when the header is absent or {@code *}
+     */
+    public static Long versionOf(String ifMatch, Long id) {
+        if (ifMatch == null) {
+            return null;
+        }
+        String prefix = "\"" + id + "-";
+        for (String candidate : ifMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if ("*".equals(trimmed)) {
+                return null;
+            }
+            if (trimmed.startsWith(prefix) && trimmed.endsWith("\"") && trimmed.length() > prefix.length() + 1) {
+                try {
+                    return Long.valueOf(trimmed.substring(prefix.length(), trimmed.length() - 1));
+                } catch (NumberFormatException e) {
+                    // not one of our ETags, it can't match
+                }
+            }
+        }
+        return -1L;
+    }
+
+    private static long mix(long hash, long value) {
+        long mixed = (hash ^ value) * MULTIPLIER;
+        return mixed ^ (mixed >>> 29);
+    }
+
+}
@@ -0,0 +1,7 @@
+-- a username identifies one employee, deleted ones included, and serves findByUsername
+CREATE UNIQUE INDEX ux_employee_username ON employee (username);
+
+-- the active listing filters on active_status and pages on id
+CREATE INDEX ix_employee_active_status_id ON employee (active_status, id);
+
+ALTER TABLE user_role ADD CONSTRAINT pk_user_role PRIMARY KEY (user_id, role_id);
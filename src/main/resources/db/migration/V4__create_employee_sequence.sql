@@ -0,0 +1,3 @@
+-- employee ids come from a sequence, Hibernate allocates them in blocks of 50 and can batch the inserts
+-- a block ends at the sequence value, so the first one has to start above the ids seeded by V2 (up to 2): 3..52
+CREATE SEQUENCE employee_seq START WITH 52 INCREMENT BY 50;
@@ -0,0 +1,3 @@
+-- optimistic lock version of an employee, also the ETag of its representation
+-- every update has to increment it, including the bulk soft delete which bypasses the entity
+ALTER TABLE employee ADD COLUMN version bigint(20) NOT NULL DEFAULT 0;
@@ -0,0 +1,116 @@
+package com.demo.springboot.employee.benchmark.controller;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.demo.springboot.employee.component.EmployeeComponent;
+import com.demo.springboot.employee.constant.StatusConstants;
+import com.demo.springboot.employee.controller.v1.EmployeeController;
+import com.demo.springboot.employee.domain.EmployeeView;
+import com.demo.springboot.employee.exception.ComponentException;
+import com.demo.springboot.employee.model.response.Response;
+import com.demo.springboot.employee.service.impl.EmployeeServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.OutputStream;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of answering a get by id for an unknown id through the controller and the component,
+ * as the expected outcome it is, against the same miss raised as an unexpected failure with a stack trace
+ * and error logging, which is what every miss used to cost
+ * Logging is at info into a discarding appender, the calls are made under {@code depth} frames
+ * to stand in for the servlet container and the filter chain
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EmployeeNotFoundBenchmark {
+
+    @Param({"120"})
+    private int depth;
+
+    private EmployeeController notFoundController;
+
+    private EmployeeController failingController;
+
+    @Setup
+    public void setup() {
+        LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        loggerContext.reset();
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern("%d %-5level [%thread] %logger : %msg%n");
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(loggerContext);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        });
+        appender.start();
+        ch.qos.logback.classic.Logger root = loggerContext.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(appender);
+
+        notFoundController = controller(new EmployeeServiceImpl() {
+            @Override
+            public Optional<EmployeeView> findViewById(Long id) {
+                return Optional.empty();
+            }
+        });
+        failingController = controller(new EmployeeServiceImpl() {
+            @Override
+            public Optional<EmployeeView> findViewById(Long id) {
+                throw new ComponentException(StatusConstants.HttpConstants.CAN_NOT_GET_EMPLOYEE_BY_ID);
+            }
+        });
+    }
+
+    @Benchmark
+    public Response<?> expected() {
+        return call(notFoundController, depth);
+    }
+
+    @Benchmark
+    public Response<?> unexpected() {
+        return call(failingController, depth);
+    }
+
+    private Response<?> call(EmployeeController controller, int frames) {
+        if (frames > 0) {
+            return call(controller, frames - 1);
+        }
+        return controller.getEmployeeById(ThreadLocalRandom.current().nextLong(1_000_000), null, new MockHttpServletResponse());
+    }
+
+    private static EmployeeController controller(EmployeeServiceImpl employeeServiceImpl) {
+        EmployeeComponent employeeComponent = new EmployeeComponent();
+        ReflectionTestUtils.setField(employeeComponent, "employeeServiceImpl", employeeServiceImpl);
+        EmployeeController employeeController = new EmployeeController();
+        ReflectionTestUtils.setField(employeeController, "employeeComponent", employeeComponent);
+        return employeeController;
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.demo.springboot.employee.benchmark.converter;
+
+import com.demo.springboot.employee.converter.RegisterEmployeeRequestToEmployeeConverter;
+import com.demo.springboot.employee.converter.RoleRequestToRoleEntityConverter;
+import com.demo.springboot.employee.converter.UpdateEmployeeRequestToEmployeeEntityConverter;
+import com.demo.springboot.employee.domain.Employee;
+import com.demo.springboot.employee.domain.Role;
+import com.demo.springboot.employee.model.request.RegisterEmployeeRequest;
+import com.demo.springboot.employee.model.request.RoleRequest;
+import com.demo.springboot.employee.model.request.UpdateEmployeeRequest;
+import com.demo.springboot.employee.service.impl.RoleServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of converting a registration and an update request into an employee, with the BCrypt password hashing
+ * of the application and with a no-op encoder, which leaves the cost of the mapping itself
+ * The roles are resolved from an in-memory dictionary like the one of the role service
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeRequestConverterBenchmark {
+
+    @Param({"true", "false"})
+    private boolean bcrypt;
+
+    private RegisterEmployeeRequestToEmployeeConverter registerConverter;
+
+    private UpdateEmployeeRequestToEmployeeEntityConverter updateConverter;
+
+    private RegisterEmployeeRequest registerEmployeeRequest;
+
+    private UpdateEmployeeRequest updateEmployeeRequest;
+
+    @Setup
+    @SuppressWarnings("deprecation")
+    public void setup() {
+        PasswordEncoder passwordEncoder = bcrypt ? new BCryptPasswordEncoder(10) : NoOpPasswordEncoder.getInstance();
+        RoleServiceImpl roleServiceImpl = new RoleServiceImpl() {
+            @Override
+            public Role findByRoleName(String roleName) {
+                return new Role("ADMIN_USER".equals(roleName) ? 2L : 1L, roleName, roleName);
+            }
+        };
+        RoleRequestToRoleEntityConverter roleConverter = new RoleRequestToRoleEntityConverter();
+        ReflectionTestUtils.setField(roleConverter, "roleServiceImpl", roleServiceImpl);
+
+        registerConverter = new RegisterEmployeeRequestToEmployeeConverter();
+        ReflectionTestUtils.setField(registerConverter, "passwordEncoder", passwordEncoder);
+        ReflectionTestUtils.setField(registerConverter, "roleRequestToRoleEntityConverter", roleConverter);
+        updateConverter = new UpdateEmployeeRequestToEmployeeEntityConverter();
+        ReflectionTestUtils.setField(updateConverter, "passwordEncoder", passwordEncoder);
+        ReflectionTestUtils.setField(updateConverter, "roleRequestToRoleEntityConverter", roleConverter);
+
+        registerEmployeeRequest = RegisterEmployeeRequest.builder()
+                .firstName("First")
+                .lastName("Last")
+                .password("password")
+                .username("benchmark.employee")
+                .roles(Arrays.asList(RoleRequest.builder().roleName("STANDARD_USER").build(),
+                        RoleRequest.builder().roleName("ADMIN_USER").build()))
+                .build();
+        updateEmployeeRequest = UpdateEmployeeRequest.builder()
+                .id(1L)
+                .firstName("First")
+                .password("password")
+                .roles(Arrays.asList(RoleRequest.builder().roleName("STANDARD_USER").build()))
+                .build();
+    }
+
+    @Benchmark
+    public Employee register() {
+        return registerConverter.convert(registerEmployeeRequest);
+    }
+
+    @Benchmark
+    public Employee update() {
+        return updateConverter.convert(updateEmployeeRequest);
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.demo.springboot.employee.benchmark.repository;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the username lookup and of an active listing page on a migrated schema holding {@code rows} employees,
+ * with the migration indexes and with them dropped
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeLookupBenchmark {
+
+    private static final int INSERT_BATCH_SIZE = 10_000;
+
+    @Param({"1000000"})
+    private int rows;
+
+    @Param({"true", "false"})
+    private boolean indexed;
+
+    private Connection connection;
+
+    private PreparedStatement findByUsername;
+
+    private PreparedStatement findActivePage;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:lookup-benchmark;DB_CLOSE_DELAY=-1", "sa", "");
+        Flyway flyway = new Flyway();
+        flyway.setDataSource(dataSource);
+        flyway.migrate();
+
+        connection = dataSource.getConnection();
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO employee (first_name, last_name, password, username, active_status) VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < rows; i++) {
+                insert.setString(1, "First" + i);
+                insert.setString(2, "Last" + i);
+                insert.setString(3, "password");
+                insert.setString(4, "benchmark.employee" + i);
+                insert.setString(5, i % 10 == 0 ? "inactive" : "active");
+                insert.addBatch();
+                if ((i + 1) % INSERT_BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        if (!indexed) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP INDEX ux_employee_username");
+                statement.execute("DROP INDEX ix_employee_active_status_id");
+            }
+        }
+        findByUsername = connection.prepareStatement("SELECT id, username, password FROM employee WHERE username = ?");
+        findActivePage = connection.prepareStatement(
+                "SELECT id, first_name, last_name FROM employee WHERE active_status = 'active' AND id > ? ORDER BY id LIMIT 50");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public long findByUsername() throws SQLException {
+        findByUsername.setString(1, "benchmark.employee" + ThreadLocalRandom.current().nextInt(rows));
+        try (ResultSet resultSet = findByUsername.executeQuery()) {
+            return resultSet.next() ? resultSet.getLong(1) : -1;
+        }
+    }
+
+    @Benchmark
+    public long findActivePage() throws SQLException {
+        findActivePage.setLong(1, ThreadLocalRandom.current().nextInt(rows));
+        long lastId = -1;
+        try (ResultSet resultSet = findActivePage.executeQuery()) {
+            while (resultSet.next()) {
+                lastId = resultSet.getLong(1);
+            }
+        }
+        return lastId;
+    }
+
+}
@@ -0,0 +1,156 @@
+package com.demo.springboot.employee.benchmark.repository;
+
+import com.demo.springboot.employee.EmployeeApplication;
+import com.demo.springboot.employee.domain.Employee;
+import com.demo.springboot.employee.model.response.EmployeeListResponse;
+import com.demo.springboot.employee.model.response.EmployeeResponse;
+import com.demo.springboot.employee.repository.EmployeeRepository;
+import com.demo.springboot.employee.service.impl.EmployeeServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Cost of serving an employee page and an employee by id, from managed entities serialized inside an open
+ * entity manager as the controllers used to, against the read-only projections they use now.
+ * {@code viewById} is served by the employee view cache, {@code uncachedViewById} queries the projection every time.
+ * Run it with {@code -prof gc}, gc.alloc.rate.norm is the allocation per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeReadPathBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"10000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+
+    private EmployeeServiceImpl employeeServiceImpl;
+
+    private EmployeeRepository employeeRepository;
+
+    private EntityManagerFactory entityManagerFactory;
+
+    private ObjectMapper objectMapper;
+
+    private long minId;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(EmployeeApplication.class)
+                .properties("server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:read-path-benchmark;DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN")
+                .run();
+        employeeServiceImpl = context.getBean(EmployeeServiceImpl.class);
+        employeeRepository = context.getBean(EmployeeRepository.class);
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        minId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM employee", Long.class);
+        List<Object[]> employees = new ArrayList<>();
+        List<Object[]> userRoles = new ArrayList<>();
+        for (long id = minId; id < minId + rows; id++) {
+            employees.add(new Object[]{id, "First" + id, "Last" + id, "password", "benchmark.employee" + id, "active"});
+            userRoles.add(new Object[]{id, 1L});
+            userRoles.add(new Object[]{id, 2L});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO employee (id, first_name, last_name, password, username, active_status) VALUES (?, ?, ?, ?, ?, ?)", employees);
+        jdbcTemplate.batchUpdate("INSERT INTO user_role (user_id, role_id) VALUES (?, ?)", userRoles);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] entityPage() throws Exception {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            List<Employee> employeeList = entityManager.createQuery(
+                    "SELECT e FROM Employee e WHERE e.activeStatus = 'active' AND e.id > :afterId ORDER BY e.id", Employee.class)
+                    .setParameter("afterId", randomAfterId())
+                    .setMaxResults(PAGE_SIZE)
+                    .getResultList();
+            entityManager.createQuery("SELECT DISTINCT e FROM Employee e LEFT JOIN FETCH e.roles WHERE e.id IN :ids", Employee.class)
+                    .setParameter("ids", employeeList.stream()
+                            .map(Employee::getId)
+                            .collect(Collectors.toList()))
+                    .getResultList();
+            // serialized while the entity manager is open, the way open-in-view served the entities
+            byte[] body = objectMapper.writeValueAsBytes(Collections.singletonMap("employee_list", employeeList));
+            entityManager.getTransaction().commit();
+            return body;
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @Benchmark
+    public byte[] viewPage() throws Exception {
+        return objectMapper.writeValueAsBytes(EmployeeListResponse.builder()
+                .employeeList(employeeServiceImpl.findAll(null, null, randomAfterId(), PAGE_SIZE))
+                .build());
+    }
+
+    @Benchmark
+    public byte[] entityById() throws Exception {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            Employee employee = entityManager.createQuery("SELECT e FROM Employee e LEFT JOIN FETCH e.roles WHERE e.id = :id", Employee.class)
+                    .setParameter("id", randomAfterId() + 1)
+                    .getSingleResult();
+            byte[] body = objectMapper.writeValueAsBytes(Collections.singletonMap("employee", employee));
+            entityManager.getTransaction().commit();
+            return body;
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @Benchmark
+    public byte[] viewById() throws Exception {
+        return objectMapper.writeValueAsBytes(EmployeeResponse.builder()
+                .employee(employeeServiceImpl.findViewById(randomAfterId() + 1).get())
+                .build());
+    }
+
+    @Benchmark
+    public byte[] uncachedViewById() throws Exception {
+        return objectMapper.writeValueAsBytes(EmployeeResponse.builder()
+                .employee(employeeRepository.findEmployeeView(randomAfterId() + 1).get())
+                .build());
+    }
+
+    private long randomAfterId() {
+        return minId + ThreadLocalRandom.current().nextInt(rows - PAGE_SIZE) - 1;
+    }
+
+}
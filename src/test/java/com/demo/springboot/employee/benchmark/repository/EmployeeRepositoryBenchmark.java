@@ -0,0 +1,109 @@
+package com.demo.springboot.employee.benchmark.repository;
+
+import com.demo.springboot.employee.EmployeeApplication;
+import com.demo.springboot.employee.domain.Employee;
+import com.demo.springboot.employee.domain.EmployeeView;
+import com.demo.springboot.employee.repository.EmployeeRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the employee repository queries the service issues, through the application's repository
+ * against an H2 seeded with {@code rows} employees holding two roles each
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeRepositoryBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    private static final int USERNAME_BATCH_SIZE = 100;
+
+    @Param({"10000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+
+    private EmployeeRepository employeeRepository;
+
+    private long minId;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(EmployeeApplication.class)
+                .properties("server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:repository-benchmark;DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN")
+                .run();
+        employeeRepository = context.getBean(EmployeeRepository.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        minId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM employee", Long.class);
+        List<Object[]> employees = new ArrayList<>();
+        List<Object[]> userRoles = new ArrayList<>();
+        for (long id = minId; id < minId + rows; id++) {
+            employees.add(new Object[]{id, "First" + id, "Last" + id, "password", "benchmark.employee" + id, "active"});
+            userRoles.add(new Object[]{id, 1L});
+            userRoles.add(new Object[]{id, 2L});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO employee (id, first_name, last_name, password, username, active_status) VALUES (?, ?, ?, ?, ?, ?)", employees);
+        jdbcTemplate.batchUpdate("INSERT INTO user_role (user_id, role_id) VALUES (?, ?)", userRoles);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Employee> findByUsername() {
+        return employeeRepository.findByUsername("benchmark.employee" + randomId());
+    }
+
+    @Benchmark
+    public Optional<EmployeeView> findEmployeeView() {
+        return employeeRepository.findEmployeeView(randomId());
+    }
+
+    @Benchmark
+    public List<EmployeeView> findActiveEmployeeViews() {
+        return employeeRepository.findActiveEmployeeViews(randomId() - 1, null, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<EmployeeView> findActiveEmployeeViewsByNameAndRole() {
+        return employeeRepository.findActiveEmployeeViews(null, "first", "ADMIN_USER", PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<String> findUsernamesByUsernameIn() {
+        List<String> usernames = new ArrayList<>(USERNAME_BATCH_SIZE);
+        for (int i = 0; i < USERNAME_BATCH_SIZE; i++) {
+            usernames.add("benchmark.employee" + randomId());
+        }
+        return employeeRepository.findUsernamesByUsernameIn(usernames);
+    }
+
+    private long randomId() {
+        return minId + ThreadLocalRandom.current().nextInt(rows - PAGE_SIZE);
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.demo.springboot.employee.benchmark.security;
+
+import com.demo.springboot.employee.security.CachingPasswordEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password verification throughput of a plain BCrypt encoder against the caching encoder
+ * for a client that keeps presenting the same credentials
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PasswordEncoderBenchmark {
+
+    private static final String PASSWORD = "jwtpass";
+
+    @Param({"10", "12"})
+    private int strength;
+
+    private PasswordEncoder bcryptPasswordEncoder;
+
+    private PasswordEncoder cachingPasswordEncoder;
+
+    private String encodedPassword;
+
+    @Setup
+    public void setup() {
+        bcryptPasswordEncoder = new BCryptPasswordEncoder(strength);
+        cachingPasswordEncoder = new CachingPasswordEncoder(bcryptPasswordEncoder, 10_000, 60);
+        encodedPassword = bcryptPasswordEncoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean bcryptMatches() {
+        return bcryptPasswordEncoder.matches(PASSWORD, encodedPassword);
+    }
+
+    @Benchmark
+    public boolean cachedMatches() {
+        return cachingPasswordEncoder.matches(PASSWORD, encodedPassword);
+    }
+
+}
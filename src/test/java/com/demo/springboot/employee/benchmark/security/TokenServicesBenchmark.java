@@ -0,0 +1,83 @@
+package com.demo.springboot.employee.benchmark.security;
+
+import com.demo.springboot.employee.security.CachingResourceServerTokenServices;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+import org.springframework.security.oauth2.provider.authentication.OAuth2AuthenticationManager;
+import org.springframework.security.oauth2.provider.token.DefaultTokenServices;
+import org.springframework.security.oauth2.provider.token.ResourceServerTokenServices;
+import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
+import org.springframework.security.oauth2.provider.token.store.JwtTokenStore;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating a bearer token the way the resource server filter does,
+ * with the plain JWT token services against the caching token services
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TokenServicesBenchmark {
+
+    private static final String RESOURCE_ID = "testjwtresourceid";
+
+    private OAuth2AuthenticationManager uncachedAuthenticationManager;
+
+    private OAuth2AuthenticationManager cachedAuthenticationManager;
+
+    private String accessToken;
+
+    @Setup
+    public void setup() throws Exception {
+        JwtAccessTokenConverter accessTokenConverter = new JwtAccessTokenConverter();
+        accessTokenConverter.setSigningKey("MaYzkSjmkzPC57L");
+        accessTokenConverter.afterPropertiesSet();
+
+        DefaultTokenServices tokenServices = new DefaultTokenServices();
+        tokenServices.setTokenStore(new JwtTokenStore(accessTokenConverter));
+        tokenServices.setTokenEnhancer(accessTokenConverter);
+
+        OAuth2Request request = new OAuth2Request(Collections.emptyMap(), "testjwtclientid",
+                AuthorityUtils.createAuthorityList("ADMIN_USER", "STANDARD_USER"), true,
+                new HashSet<>(Arrays.asList("read", "write")), Collections.singleton(RESOURCE_ID), null, null, null);
+        Authentication userAuthentication = new UsernamePasswordAuthenticationToken("admin", "N/A",
+                AuthorityUtils.createAuthorityList("ADMIN_USER", "STANDARD_USER"));
+        accessToken = tokenServices.createAccessToken(new OAuth2Authentication(request, userAuthentication)).getValue();
+
+        uncachedAuthenticationManager = authenticationManager(tokenServices);
+        cachedAuthenticationManager = authenticationManager(new CachingResourceServerTokenServices(tokenServices, 10_000));
+    }
+
+    private OAuth2AuthenticationManager authenticationManager(ResourceServerTokenServices tokenServices) {
+        OAuth2AuthenticationManager authenticationManager = new OAuth2AuthenticationManager();
+        authenticationManager.setResourceId(RESOURCE_ID);
+        authenticationManager.setTokenServices(tokenServices);
+        return authenticationManager;
+    }
+
+    @Benchmark
+    public Authentication uncachedAuthenticate() {
+        return uncachedAuthenticationManager.authenticate(new PreAuthenticatedAuthenticationToken(accessToken, ""));
+    }
+
+    @Benchmark
+    public Authentication cachedAuthenticate() {
+        return cachedAuthenticationManager.authenticate(new PreAuthenticatedAuthenticationToken(accessToken, ""));
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.demo.springboot.employee.benchmark.serialization;
+
+import com.demo.springboot.employee.constant.StatusConstants;
+import com.demo.springboot.employee.domain.EmployeeView;
+import com.demo.springboot.employee.domain.RoleView;
+import com.demo.springboot.employee.model.response.EmployeeListResponse;
+import com.demo.springboot.employee.model.response.Response;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of writing a {@code Response<EmployeeListResponse>} of {@code employees} employees with two roles each
+ * to the response stream, with an object mapper built the way Spring Boot builds the application's one
+ * Run it with {@code -prof gc}, gc.alloc.rate.norm is the allocation per response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeListResponseSerializationBenchmark {
+
+    private static final OutputStream DISCARD = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    @Param({"10", "1000", "100000"})
+    private int employees;
+
+    private ObjectMapper objectMapper;
+
+    private Response<EmployeeListResponse> response;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<RoleView> roles = Arrays.asList(new RoleView(1L, "STANDARD_USER", "Standard User - Has no admin rights"),
+                new RoleView(2L, "ADMIN_USER", "Admin User - Has permission to perform admin tasks"));
+        Date registeredDate = new Date();
+        List<EmployeeView> employeeList = new ArrayList<>(employees);
+        for (long id = 1; id <= employees; id++) {
+            employeeList.add(new EmployeeView(id, "benchmark.employee" + id, "First" + id, "Last" + id, "active",
+                    registeredDate, null, 1L).withRoles(roles));
+        }
+        response = new Response<>(StatusConstants.HttpConstants.SUCCESS, EmployeeListResponse.builder()
+                .employeeList(employeeList)
+                .nextCursor("MTAwMDAx")
+                .build());
+    }
+
+    @Benchmark
+    public void serialize() throws IOException {
+        objectMapper.writeValue(DISCARD, response);
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.demo.springboot.employee.integration.config;
+
+import com.demo.springboot.employee.EmployeeApplication;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.context.web.WebAppConfiguration;
+
+import javax.sql.DataSource;
+
+@RunWith(SpringRunner.class)
+@WebAppConfiguration
+@SpringBootTest(classes = EmployeeApplication.class)
+public class DatasourceConfigIntegrationTest {
+
+    @Autowired
+    private DataSource datasource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void testDatasourceIsPooled() {
+        Assert.assertTrue(datasource instanceof HikariDataSource);
+        HikariDataSource hikariDataSource = (HikariDataSource) datasource;
+        Assert.assertEquals("employee-pool", hikariDataSource.getPoolName());
+        Assert.assertEquals(10, hikariDataSource.getMaximumPoolSize());
+        Assert.assertEquals(3000, hikariDataSource.getConnectionTimeout());
+    }
+
+    @Test
+    public void testPoolMetricsAreRegistered() {
+        new JdbcTemplate(datasource).queryForObject("SELECT COUNT(*) FROM app_role", Long.class);
+
+        Assert.assertNotNull(meterRegistry.find("hikaricp.connections.active").tag("pool", "employee-pool").gauge());
+        Assert.assertNotNull(meterRegistry.find("hikaricp.connections.pending").tag("pool", "employee-pool").gauge());
+        Assert.assertTrue(meterRegistry.find("hikaricp.connections.acquire").tag("pool", "employee-pool").timer().count() > 0);
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.demo.springboot.employee.integration.config;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import com.demo.springboot.employee.EmployeeApplication;
+import com.demo.springboot.employee.filter.AccessLogFilter;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.context.web.WebAppConfiguration;
+
+@RunWith(SpringRunner.class)
+@WebAppConfiguration
+@SpringBootTest(classes = EmployeeApplication.class)
+public class LoggingConfigIntegrationTest {
+
+    @Test
+    public void testApplicationLogsGoThroughBoundedNonBlockingQueue() {
+        Logger root = (Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+
+        AsyncAppender appender = asyncAppender(root.getAppender("ASYNC_CONSOLE"));
+        Assert.assertEquals(8192, appender.getQueueSize());
+        Assert.assertTrue(appender.isNeverBlock());
+        Assert.assertFalse(appender.isIncludeCallerData());
+    }
+
+    @Test
+    public void testAccessRecordsGoThroughTheirOwnQueue() {
+        Logger accessLogger = (Logger) LoggerFactory.getLogger(AccessLogFilter.class);
+
+        Assert.assertFalse(accessLogger.isAdditive());
+        AsyncAppender appender = asyncAppender(accessLogger.getAppender("ASYNC_ACCESS"));
+        Assert.assertEquals(16384, appender.getQueueSize());
+        Assert.assertEquals(0, appender.getDiscardingThreshold());
+        Assert.assertTrue(appender.isNeverBlock());
+    }
+
+    private static AsyncAppender asyncAppender(Appender<ILoggingEvent> appender) {
+        Assert.assertTrue(appender instanceof AsyncAppender);
+        Assert.assertTrue(appender.isStarted());
+        return (AsyncAppender) appender;
+    }
+
+}
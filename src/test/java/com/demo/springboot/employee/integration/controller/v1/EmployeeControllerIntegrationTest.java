@@ -3,8 +3,18 @@ package com.demo.springboot.employee.integration.controller.v1;
 import com.demo.springboot.employee.EmployeeApplication;
 import com.demo.springboot.employee.component.EmployeeComponent;
 import com.demo.springboot.employee.config.AuthorizationServerConfig;
+import com.demo.springboot.employee.constant.StatusConstants;
+import com.demo.springboot.employee.converter.RegisterEmployeeRequestToEmployeeConverter;
 import com.demo.springboot.employee.domain.Employee;
+import com.demo.springboot.employee.model.Status;
+import com.demo.springboot.employee.model.request.RegisterEmployeeRequest;
+import com.demo.springboot.employee.model.response.Response;
 import com.demo.springboot.employee.repository.EmployeeRepository;
+import com.demo.springboot.employee.repository.RoleRepository;
+import com.demo.springboot.employee.security.CachingResourceServerTokenServices;
+import com.demo.springboot.employee.service.impl.EmployeeServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
 import org.apache.http.client.entity.UrlEncodedFormEntity;
 import org.apache.http.message.BasicNameValuePair;
 import org.apache.http.util.EntityUtils;
@@ -13,19 +23,28 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.json.JacksonJsonParser;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.provider.token.ResourceServerTokenServices;
 import org.springframework.security.web.FilterChainProxy;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Optional;
+import java.util.zip.GZIPInputStream;
 
 import static org.hamcrest.Matchers.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
@@ -54,6 +73,19 @@ public class EmployeeControllerIntegrationTest {
     @Autowired
     private EmployeeComponent employeeComponent;
 
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EmployeeServiceImpl employeeServiceImpl;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("resourceServerTokenServices")
+    private ResourceServerTokenServices resourceServerTokenServices;
+
     @Before
     public void setup() {
         this.mockMvc = MockMvcBuilders.webAppContextSetup(this.wac)
@@ -85,6 +117,141 @@ public class EmployeeControllerIntegrationTest {
 
     }
 
+    @Test
+    public void testRepeatedAccessTokenIsServedFromTokenCache() throws Exception {
+        String accessToken = obtainAccessToken("admin", "jwtpass");
+        CachingResourceServerTokenServices cachingTokenServices = (CachingResourceServerTokenServices) resourceServerTokenServices;
+        long hitCount = cachingTokenServices.getCache().stats().hitCount();
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/employee-api/v1/employee/1")
+                    .header("Authorization", "Bearer " + accessToken))
+                    .andExpect(status().isOk());
+        }
+
+        Assert.assertEquals(hitCount + 1, cachingTokenServices.getCache().stats().hitCount());
+    }
+
+    @Test
+    public void testGetEmployeeByIdWithMatchingETagIsNotModified() throws Exception {
+        String accessToken = obtainAccessToken("admin", "jwtpass");
+
+        String eTag = mockMvc.perform(get("/employee-api/v1/employee/1")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("\"1-")))
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/employee-api/v1/employee/1")
+                .header("Authorization", "Bearer " + accessToken)
+                .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag))
+                .andExpect(content().string(""));
+
+    }
+
+    @Test
+    public void testUpdateAndBulkDeleteChangeETags() throws Exception {
+        String accessToken = obtainAccessToken("admin", "jwtpass");
+        mockMvc.perform(post("/employee-api/v1/employee")
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("{ \"first_name\": \"Janice\", \"last_name\": \"Hosenstein\", \"username\": \"janice\", \"password\": \"Password\", \"roles\": [ { \"roleName\": \"STANDARD_USER\" } ] }")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk());
+        Long id = employeeRepository.findByUsername("janice").get().getId();
+
+        String eTag = mockMvc.perform(get("/employee-api/v1/employee/" + id)
+                .header("Authorization", "Bearer " + accessToken))
+                .andReturn().getResponse().getHeader("ETag");
+        String listETag = mockMvc.perform(get("/employee-api/v1/employees?limit=500")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get("/employee-api/v1/employees?limit=500")
+                .header("Authorization", "Bearer " + accessToken)
+                .header("If-None-Match", listETag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(put("/employee-api/v1/employee")
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("{ \"id\": " + id + ", \"first_name\": \"Janice\", \"last_name\": \"Litman\" }")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk());
+
+        String updatedETag = mockMvc.perform(get("/employee-api/v1/employee/" + id)
+                .header("Authorization", "Bearer " + accessToken)
+                .header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.employee.lastName", is("Litman")))
+                .andExpect(jsonPath("$.data.employee.version").doesNotExist())
+                .andReturn().getResponse().getHeader("ETag");
+        Assert.assertNotEquals(eTag, updatedETag);
+        mockMvc.perform(get("/employee-api/v1/employees?limit=500")
+                .header("Authorization", "Bearer " + accessToken)
+                .header("If-None-Match", listETag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(listETag)));
+
+        mockMvc.perform(post("/employee-api/v1/employees/delete")
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("{ \"ids\": [ " + id + " ] }")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(jsonPath("$.data.deleted_count", is(1)));
+
+        mockMvc.perform(get("/employee-api/v1/employee/" + id)
+                .header("Authorization", "Bearer " + accessToken)
+                .header("If-None-Match", updatedETag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.employee.activeStatus", is("inactive")));
+
+    }
+
+    @Test
+    public void testUpdateAndDeleteWithStaleIfMatchAreRefused() throws Exception {
+        String accessToken = obtainAccessToken("admin", "jwtpass");
+        mockMvc.perform(post("/employee-api/v1/employee")
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("{ \"first_name\": \"Gunther\", \"last_name\": \"Central\", \"username\": \"gunther\", \"password\": \"Password\", \"roles\": [ { \"roleName\": \"STANDARD_USER\" } ] }")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk());
+        Long id = employeeRepository.findByUsername("gunther").get().getId();
+        String eTag = mockMvc.perform(get("/employee-api/v1/employee/" + id)
+                .header("Authorization", "Bearer " + accessToken))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(put("/employee-api/v1/employee")
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("{ \"id\": " + id + ", \"last_name\": \"Perk\" }")
+                .header("If-Match", eTag)
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/employee-api/v1/employee")
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("{ \"id\": " + id + ", \"last_name\": \"Coffeehouse\" }")
+                .header("If-Match", eTag)
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status.code", is(35015)));
+        mockMvc.perform(delete("/employee-api/v1/employee/" + id)
+                .header("If-Match", eTag)
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isPreconditionFailed());
+
+        String updatedETag = mockMvc.perform(get("/employee-api/v1/employee/" + id)
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(jsonPath("$.data.employee.lastName", is("Perk")))
+                .andExpect(jsonPath("$.data.employee.activeStatus", is("active")))
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(delete("/employee-api/v1/employee/" + id)
+                .header("If-Match", updatedETag)
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk());
+
+    }
+
     @Test
     public void testGetAllEmployeesWithSuccess() throws Exception {
         String accessToken = obtainAccessToken("admin", "jwtpass");
@@ -99,6 +266,86 @@ public class EmployeeControllerIntegrationTest {
 
     }
 
+    @Test
+    public void testGetAllEmployeesWithPagination() throws Exception {
+        String accessToken = obtainAccessToken("admin", "jwtpass");
+
+        String firstPage = mockMvc.perform(get("/employee-api/v1/employees")
+                .param("limit", "1")
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status.code", is(0)))
+                .andExpect(jsonPath("$.data.employee_list", hasSize(1)))
+                .andExpect(jsonPath("$.data.employee_list[0].id", is(1)))
+                .andExpect(jsonPath("$.data.next_cursor", notNullValue()))
+                .andReturn().getResponse().getContentAsString();
+
+        String nextCursor = JsonPath.read(firstPage, "$.data.next_cursor");
+
+        mockMvc.perform(get("/employee-api/v1/employees")
+                .param("limit", "1")
+                .param("cursor", nextCursor)
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.employee_list", hasSize(1)))
+                .andExpect(jsonPath("$.data.employee_list[0].id", is(2)));
+
+    }
+
+    @Test
+    public void testGetAllEmployeesWithFilters() throws Exception {
+        String accessToken = obtainAccessToken("admin", "jwtpass");
+
+        mockMvc.perform(get("/employee-api/v1/employees")
+                .param("name", "adm")
+                .param("role", "ADMIN_USER")
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.employee_list", hasSize(1)))
+                .andExpect(jsonPath("$.data.employee_list[0].username", is("admin")))
+                .andExpect(jsonPath("$.data.next_cursor", nullValue()));
+
+    }
+
+    @Test
+    public void testNameFilterMatchesWildcardsLiterally() throws Exception {
+        String accessToken = obtainAccessToken("admin", "jwtpass");
+
+        for (String name : Arrays.asList("%", "_", "\\")) {
+            mockMvc.perform(get("/employee-api/v1/employees")
+                    .param("name", name)
+                    .header("Authorization", "Bearer " + accessToken)
+                    .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.employee_list", hasSize(0)));
+        }
+
+        mockMvc.perform(post("/employee-api/v1/employees/delete")
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("{ \"name\": \"%\" }")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.deleted_count", is(0)));
+        Assert.assertEquals("active", employeeRepository.findByUsername("admin").get().getActiveStatus());
+
+    }
+
+    @Test
+    public void testGetAllEmployeesFailureWithInvalidCursor() throws Exception {
+        String accessToken = obtainAccessToken("admin", "jwtpass");
+
+        mockMvc.perform(get("/employee-api/v1/employees")
+                .param("cursor", "not-a-cursor")
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status.code", is(35008)));
+
+    }
+
     @Test
     public void testGetAllEmployeesFailureWithUnauthorizedUserName() throws Exception {
         String accessToken = obtainAccessToken("admin2", "jwtpass");
@@ -130,6 +377,53 @@ public class EmployeeControllerIntegrationTest {
 
     }
 
+    @Test
+    public void testExportEmployeesWithSuccess() throws Exception {
+        String accessToken = obtainAccessToken("admin", "jwtpass");
+
+        String export = mockMvc.perform(get("/employee-api/v1/employees/export")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson;charset=UTF-8"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = export.split("\n");
+        Assert.assertTrue(lines.length >= 2);
+        Assert.assertEquals(Integer.valueOf(1), JsonPath.read(lines[0], "$.id"));
+        Assert.assertEquals("koushik.pal", JsonPath.read(lines[0], "$.username"));
+        Assert.assertEquals(Integer.valueOf(2), JsonPath.read(lines[1], "$.id"));
+
+    }
+
+    @Test
+    public void testExportEmployeesWithGzipAndAfterId() throws Exception {
+        String accessToken = obtainAccessToken("admin", "jwtpass");
+
+        byte[] export = mockMvc.perform(get("/employee-api/v1/employees/export")
+                .param("after_id", "1")
+                .header("Accept-Encoding", "gzip")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        String firstLine = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(export)), StandardCharsets.UTF_8)).readLine();
+        Assert.assertEquals(Integer.valueOf(2), JsonPath.read(firstLine, "$.id"));
+        Assert.assertEquals("admin", JsonPath.read(firstLine, "$.username"));
+
+    }
+
+    @Test
+    public void testExportEmployeesWithUnauthorizedRole() throws Exception {
+        String accessToken = obtainAccessToken("koushik.pal", "jwtpass");
+
+        mockMvc.perform(get("/employee-api/v1/employees/export")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isUnauthorized());
+
+    }
+
     @Test
     public void testGetEmployeeByIdWithSuccess() throws Exception {
         String accessToken = obtainAccessToken("admin", "jwtpass");
@@ -209,7 +503,201 @@ public class EmployeeControllerIntegrationTest {
         Assert.assertEquals("Standard User - Has no admin rights", employee.getRoles().get(0).getDescription());
         Assert.assertEquals("ADMIN_USER", employee.getRoles().get(1).getRoleName());
         Assert.assertEquals("Admin User - Has permission to perform admin tasks", employee.getRoles().get(1).getDescription());
-        employeeComponent.delete(3L);
+        employeeComponent.delete(employee.getId());
+    }
+
+    @Test
+    public void testRegisterEmployeeReusesExistingRoles() throws Exception {
+        String accessToken = obtainAccessToken("admin", "jwtpass");
+        long roleCount = roleRepository.count();
+        String payload = "{ \"first_name\": \"Ross\", \"last_name\": \"Geller\", \"username\": \"ross.geller\", \"password\": \"Password\", \"roles\": [ { \"roleName\": \"STANDARD_USER\" } ] }";
+
+        mockMvc.perform(post("/employee-api/v1/employee")
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content(payload)
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status.code", is(0)));
+
+        Employee employee = employeeRepository.findByUsername("ross.geller").get();
+        Assert.assertEquals(1, employee.getRoles().size());
+        Assert.assertEquals(Long.valueOf(1L), employee.getRoles().get(0).getId());
+        Assert.assertEquals("Standard User - Has no admin rights", employee.getRoles().get(0).getDescription());
+        Assert.assertEquals(roleCount, roleRepository.count());
+        employeeComponent.delete(employee.getId());
+    }
+
+    @Test
+    public void testDeletedEmployeeCanNoLongerObtainAccessToken() throws Exception {
+        String accessToken = obtainAccessToken("admin", "jwtpass");
+        String payload = "{ \"first_name\": \"Monica\", \"last_name\": \"Geller\", \"username\": \"monica.geller\", \"password\": \"Password\", \"roles\": [ { \"roleName\": \"STANDARD_USER\" } ] }";
+
+        mockMvc.perform(post("/employee-api/v1/employee")
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content(payload)
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk());
+
+        // first token request puts the user details in the cache
+        Assert.assertNotNull(obtainAccessToken("monica.geller", "Password"));
+        Assert.assertNotNull(obtainAccessToken("monica.geller", "Password"));
+
+        employeeComponent.delete(employeeRepository.findByUsername("monica.geller").get().getId());
+
+        Assert.assertNull(obtainAccessToken("monica.geller", "Password"));
+    }
+
+    @Test
+    public void testRegisterEmployeeFailureWithUnknownRole() throws Exception {
+        String accessToken = obtainAccessToken("admin", "jwtpass");
+        String payload = "{ \"first_name\": \"Ross\", \"last_name\": \"Geller\", \"username\": \"ross\", \"password\": \"Password\", \"roles\": [ { \"roleName\": \"PALEONTOLOGIST\" } ] }";
+
+        mockMvc.perform(post("/employee-api/v1/employee")
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content(payload)
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status.code", is(35010)));
+
+        Assert.assertFalse(employeeRepository.findByUsername("ross").isPresent());
+    }
+
+    @Test
+    public void testBulkRegisterEmployeesWithPerEmployeeResults() throws Exception {
+        String accessToken = obtainAccessToken("admin", "jwtpass");
+        String payload = "{ \"employees\": [ "
+                + "{ \"first_name\": \"Chandler\", \"last_name\": \"Bing\", \"username\": \"chandler.bing\", \"password\": \"Password\", \"roles\": [ { \"roleName\": \"STANDARD_USER\" } ] }, "
+                + "{ \"first_name\": \"Admin\", \"last_name\": \"Admin\", \"username\": \"admin\", \"password\": \"Password\", \"roles\": [ { \"roleName\": \"STANDARD_USER\" } ] }, "
+                + "{ \"first_name\": \"\", \"last_name\": \"Buffay\", \"username\": \"phoebe.buffay\", \"password\": \"Password\", \"roles\": [ { \"roleName\": \"STANDARD_USER\" } ] } ] }";
+
+        mockMvc.perform(post("/employee-api/v1/employees")
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content(payload)
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status.code", is(0)))
+                .andExpect(jsonPath("$.data.registered_count", is(1)))
+                .andExpect(jsonPath("$.data.results", hasSize(3)))
+                .andExpect(jsonPath("$.data.results[0].status.code", is(0)))
+                .andExpect(jsonPath("$.data.results[1].status.code", is(35007)))
+                .andExpect(jsonPath("$.data.results[2].status.code", is(35998)))
+                .andExpect(jsonPath("$.data.results[2].status.message", is("first_name is required")));
+
+        Employee employee = employeeRepository.findByUsername("chandler.bing").get();
+        Assert.assertEquals(1, employee.getRoles().size());
+        Assert.assertFalse(employeeRepository.findByUsername("phoebe.buffay").isPresent());
+        employeeComponent.delete(employee.getId());
+    }
+
+    @Test
+    public void testBulkRegisterFallsBackToSingleRegistrationsOnConcurrentDuplicate() throws Exception {
+        String accessToken = obtainAccessToken("admin", "jwtpass");
+        String payload = "{ \"employees\": [ "
+                + "{ \"first_name\": \"Richard\", \"last_name\": \"Burke\", \"username\": \"richard.burke\", \"password\": \"Password\", \"roles\": [ { \"roleName\": \"STANDARD_USER\" } ] }, "
+                + "{ \"first_name\": \"Mike\", \"last_name\": \"Hannigan\", \"username\": \"mike.hannigan\", \"password\": \"Password\", \"roles\": [ { \"roleName\": \"STANDARD_USER\" } ] } ] }";
+        EmployeeComponent targetComponent = AopTestUtils.getTargetObject(employeeComponent);
+        RegisterEmployeeRequestToEmployeeConverter converter = (RegisterEmployeeRequestToEmployeeConverter)
+                ReflectionTestUtils.getField(targetComponent, "registerEmployeeRequestToEmployeeConverter");
+        // mike.hannigan gets registered by another request after the username check, so the batch insert is rolled back
+        ReflectionTestUtils.setField(targetComponent, "registerEmployeeRequestToEmployeeConverter", new RegisterEmployeeRequestToEmployeeConverter() {
+            @Override
+            public Employee convert(RegisterEmployeeRequest registerEmployeeRequest) {
+                Employee employee = converter.convert(registerEmployeeRequest);
+                if ("mike.hannigan".equals(registerEmployeeRequest.getUsername())) {
+                    employeeServiceImpl.register(converter.convert(registerEmployeeRequest));
+                }
+                return employee;
+            }
+        });
+
+        try {
+            mockMvc.perform(post("/employee-api/v1/employees")
+                    .contentType(MediaType.APPLICATION_JSON_UTF8)
+                    .content(payload)
+                    .header("Authorization", "Bearer " + accessToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status.code", is(0)))
+                    .andExpect(jsonPath("$.data.registered_count", is(1)))
+                    .andExpect(jsonPath("$.data.results[0].status.code", is(0)))
+                    .andExpect(jsonPath("$.data.results[0].id", notNullValue()))
+                    .andExpect(jsonPath("$.data.results[1].status.code", is(35007)));
+        } finally {
+            ReflectionTestUtils.setField(targetComponent, "registerEmployeeRequestToEmployeeConverter", converter);
+        }
+
+        Employee employee = employeeRepository.findByUsername("richard.burke").get();
+        Assert.assertEquals(1, employee.getRoles().size());
+        employeeComponent.delete(employee.getId());
+        employeeComponent.delete(employeeRepository.findByUsername("mike.hannigan").get().getId());
+    }
+
+    @Test
+    public void testBulkDeleteEmployeesByFilterAndIds() throws Exception {
+        String accessToken = obtainAccessToken("admin", "jwtpass");
+        String payload = "{ \"employees\": [ "
+                + "{ \"first_name\": \"Joey\", \"last_name\": \"Tribbiani\", \"username\": \"joey.tribbiani\", \"password\": \"Password\", \"roles\": [ { \"roleName\": \"STANDARD_USER\" } ] }, "
+                + "{ \"first_name\": \"Gina\", \"last_name\": \"Tribbiani\", \"username\": \"gina.tribbiani\", \"password\": \"Password\", \"roles\": [ { \"roleName\": \"ADMIN_USER\" } ] }, "
+                + "{ \"first_name\": \"Mary\", \"last_name\": \"Tribbiani\", \"username\": \"mary.tribbiani\", \"password\": \"Password\", \"roles\": [ { \"roleName\": \"STANDARD_USER\" } ] } ] }";
+
+        mockMvc.perform(post("/employee-api/v1/employees")
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content(payload)
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.registered_count", is(3)));
+        Assert.assertNotNull(obtainAccessToken("joey.tribbiani", "Password"));
+
+        mockMvc.perform(post("/employee-api/v1/employees/delete")
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("{ \"name\": \"tribbiani\", \"role\": \"STANDARD_USER\" }")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status.code", is(0)))
+                .andExpect(jsonPath("$.data.deleted_count", is(2)));
+
+        Employee joey = employeeRepository.findByUsername("joey.tribbiani").get();
+        Assert.assertEquals("inactive", joey.getActiveStatus());
+        Assert.assertNotNull(joey.getDeletedDate());
+        Assert.assertEquals("inactive", employeeRepository.findByUsername("mary.tribbiani").get().getActiveStatus());
+        Assert.assertEquals("active", employeeRepository.findByUsername("gina.tribbiani").get().getActiveStatus());
+        Assert.assertNull(obtainAccessToken("joey.tribbiani", "Password"));
+
+        Long ginaId = employeeRepository.findByUsername("gina.tribbiani").get().getId();
+        mockMvc.perform(post("/employee-api/v1/employees/delete")
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("{ \"ids\": [ " + ginaId + ", " + joey.getId() + " ] }")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.deleted_count", is(1)));
+
+        Assert.assertEquals("inactive", employeeRepository.findByUsername("gina.tribbiani").get().getActiveStatus());
+    }
+
+    @Test
+    public void testDataLessResponseIsWrittenPreSerialized() throws Exception {
+        String accessToken = obtainAccessToken("admin", "jwtpass");
+        byte[] expectedBody = objectMapper.writeValueAsBytes(new Response<>(new Status(StatusConstants.HttpConstants.EMPLOYEE_ID_IS_NOT_FOUND), null));
+
+        mockMvc.perform(delete("/employee-api/v1/employee/-1")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isInternalServerError())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().longValue("Content-Length", expectedBody.length))
+                .andExpect(content().bytes(expectedBody))
+                .andExpect(jsonPath("$.status.code", is(35004)))
+                .andExpect(jsonPath("$.status.message", is("Employee ID is not found")));
+    }
+
+    @Test
+    public void testBulkDeleteEmployeesWithoutCriteria() throws Exception {
+        String accessToken = obtainAccessToken("admin", "jwtpass");
+
+        mockMvc.perform(post("/employee-api/v1/employees/delete")
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("{ \"ids\": [] }")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status.code", is(35013)));
     }
 
     @Test
@@ -368,6 +856,32 @@ public class EmployeeControllerIntegrationTest {
 
     }
 
+    @Test
+    public void testUpdateKeepsDeletedEmployeeInactive() throws Exception {
+        String accessToken = obtainAccessToken("admin", "jwtpass");
+        mockMvc.perform(post("/employee-api/v1/employee")
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("{ \"first_name\": \"Rachel\", \"last_name\": \"Green\", \"username\": \"rachel.green\", \"password\": \"Password\", \"roles\": [ { \"roleName\": \"STANDARD_USER\" } ] }")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk());
+        Long id = employeeRepository.findByUsername("rachel.green").get().getId();
+        employeeComponent.delete(id);
+
+        mockMvc.perform(put("/employee-api/v1/employee")
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("{ \"id\": " + id + ", \"last_name\": \"Geller\" }")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status.code", is(0)));
+
+        Employee employee = employeeRepository.findByUsername("rachel.green").get();
+        Assert.assertEquals("Geller", employee.getLastName());
+        Assert.assertEquals("inactive", employee.getActiveStatus());
+        Assert.assertNotNull(employee.getDeletedDate());
+        Assert.assertNull(obtainAccessToken("rachel.green", "Password"));
+
+    }
+
     @Test
     public void testUpdateEmployeeFailureWithEmptyId() throws Exception {
         String accessToken = obtainAccessToken("admin", "jwtpass");
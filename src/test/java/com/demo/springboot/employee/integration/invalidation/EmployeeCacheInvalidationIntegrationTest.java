@@ -0,0 +1,95 @@
+package com.demo.springboot.employee.integration.invalidation;
+
+import com.demo.springboot.employee.EmployeeApplication;
+import com.demo.springboot.employee.domain.Employee;
+import com.demo.springboot.employee.domain.Role;
+import com.demo.springboot.employee.repository.RoleRepository;
+import com.demo.springboot.employee.service.impl.AppUserDetailsService;
+import com.demo.springboot.employee.service.impl.EmployeeServiceImpl;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.context.web.WebAppConfiguration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A second node is started in this JVM, it shares the in-memory database and the in-memory invalidation bus
+ * with the node of the test
+ */
+@RunWith(SpringRunner.class)
+@WebAppConfiguration
+@SpringBootTest(classes = EmployeeApplication.class)
+public class EmployeeCacheInvalidationIntegrationTest {
+
+    private static final String USERNAME = "invalidation.employee";
+
+    @Autowired
+    private EmployeeServiceImpl employeeServiceImpl;
+
+    @Autowired
+    private AppUserDetailsService appUserDetailsService;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ConfigurableApplicationContext secondNode;
+
+    @Before
+    public void setup() {
+        secondNode = new SpringApplicationBuilder(EmployeeApplication.class)
+                .run("--server.port=0", "--spring.jmx.enabled=false");
+    }
+
+    @After
+    public void tearDown() {
+        secondNode.close();
+        jdbcTemplate.update("DELETE FROM user_role WHERE user_id IN (SELECT id FROM employee WHERE username = ?)", USERNAME);
+        jdbcTemplate.update("DELETE FROM employee WHERE username = ?", USERNAME);
+    }
+
+    @Test
+    public void testChangesOnTheOtherNodeEvictTheCachesOfThisNode() {
+        List<Role> roles = new ArrayList<>();
+        roleRepository.findAll().forEach(roles::add);
+        Employee employee = Employee.builder()
+                .firstName("Before")
+                .lastName("Invalidation")
+                .username(USERNAME)
+                .password("$2a$10$qtH0F1m488673KwgAfFXEOWxsoZSeHqqlB/8BTt3a6gsI5c2mdlfe")
+                .activeStatus("active")
+                .roles(roles.subList(0, 1))
+                .build();
+        employeeServiceImpl.register(employee);
+        Long id = employee.getId();
+
+        Assert.assertEquals("Before", employeeServiceImpl.findViewById(id).get().getFirstName());
+        Assert.assertTrue(appUserDetailsService.loadUserByUsername(USERNAME).isEnabled());
+
+        EmployeeServiceImpl secondNodeService = secondNode.getBean(EmployeeServiceImpl.class);
+        secondNodeService.update(Employee.builder()
+                .id(id)
+                .firstName("After")
+                .build());
+
+        Assert.assertEquals("After", employeeServiceImpl.findViewById(id).get().getFirstName());
+
+        secondNodeService.delete(id);
+
+        Assert.assertEquals("inactive", employeeServiceImpl.findViewByUsername(USERNAME).get().getActiveStatus());
+        Assert.assertFalse(appUserDetailsService.loadUserByUsername(USERNAME).isEnabled());
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.demo.springboot.employee.integration.metrics;
+
+import com.demo.springboot.employee.EmployeeApplication;
+import com.demo.springboot.employee.config.AuthorizationServerConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.Search;
+import org.apache.http.client.entity.UrlEncodedFormEntity;
+import org.apache.http.message.BasicNameValuePair;
+import org.apache.http.util.EntityUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.json.JacksonJsonParser;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.Arrays;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@WebAppConfiguration
+@SpringBootTest(classes = EmployeeApplication.class)
+public class MetricsIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext wac;
+
+    @Autowired
+    private FilterChainProxy springSecurityFilterChain;
+
+    @Autowired
+    private AuthorizationServerConfig authorizationServerConfig;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private MockMvc mockMvc;
+
+    @Before
+    public void setup() {
+        this.mockMvc = MockMvcBuilders.webAppContextSetup(this.wac)
+                .addFilter(springSecurityFilterChain).build();
+    }
+
+    private String obtainAccessToken(String username, String password) throws Exception {
+        String resultString = mockMvc.perform(post("/oauth/token")
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .content(EntityUtils.toString(new UrlEncodedFormEntity(Arrays.asList(
+                        new BasicNameValuePair("grant_type", authorizationServerConfig.getGrantType()),
+                        new BasicNameValuePair("username", username),
+                        new BasicNameValuePair("password", password)
+                ))))
+                .with(httpBasic(authorizationServerConfig.getClientId(), authorizationServerConfig.getClientSecret()))
+                .accept("application/json;charset=UTF-8"))
+                .andReturn().getResponse().getContentAsString();
+        return new JacksonJsonParser().parseMap(resultString).get("access_token").toString();
+    }
+
+    @Test
+    public void testGetEmployeeByIdIsTimedInEveryLayer() throws Exception {
+        String accessToken = obtainAccessToken("admin", "jwtpass");
+        long componentCount = count(meterRegistry.find("employee.component").tag("method", "findById"));
+        long serviceCount = count(meterRegistry.find("employee.service").tag("class", "EmployeeServiceImpl").tag("method", "findViewById"));
+        long repositoryCount = count(meterRegistry.find("employee.repository").tag("class", "EmployeeRepository").tag("method", "findEmployeeView"));
+        long verifyCount = count(meterRegistry.find("security.token.verify").tag("outcome", "verified"));
+        double successCount = meterRegistry.get("employee.responses").tag("status", "SUCCESS").counter().count();
+
+        mockMvc.perform(get("/employee-api/v1/employee/1")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk());
+
+        Assert.assertEquals(componentCount + 1, count(meterRegistry.find("employee.component").tag("method", "findById")));
+        Assert.assertEquals(serviceCount + 1, count(meterRegistry.find("employee.service").tag("class", "EmployeeServiceImpl").tag("method", "findViewById")));
+        Assert.assertEquals(repositoryCount + 1, count(meterRegistry.find("employee.repository").tag("class", "EmployeeRepository").tag("method", "findEmployeeView")));
+        Assert.assertEquals(1.0, meterRegistry.get("employee.repository.rows").tag("method", "findEmployeeView").summary().max(), 0.0);
+        Assert.assertTrue(count(meterRegistry.find("security.token.verify").tag("outcome", "verified")) > verifyCount);
+        Assert.assertTrue(meterRegistry.get("security.password.matches").tag("outcome", "matched").timer().count() > 0);
+        Assert.assertEquals(successCount + 1, meterRegistry.get("employee.responses").tag("status", "SUCCESS").counter().count(), 0.0);
+    }
+
+    @Test
+    public void testUnknownIdIsCountedByStatusCode() throws Exception {
+        String accessToken = obtainAccessToken("admin", "jwtpass");
+        double notFoundCount = meterRegistry.get("employee.responses").tag("code", "35004").counter().count();
+
+        mockMvc.perform(get("/employee-api/v1/employee/-1")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isInternalServerError());
+
+        Assert.assertEquals(notFoundCount + 1, meterRegistry.get("employee.responses").tag("code", "35004").counter().count(), 0.0);
+    }
+
+    @Test
+    public void testMetricsAreExposedInPrometheusFormat() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("employee_responses_total{")))
+                .andExpect(content().string(containsString("security_password_encode_seconds_count")));
+    }
+
+    private static long count(Search search) {
+        return search.timers().stream().mapToLong(timer -> timer.count()).sum();
+    }
+
+}
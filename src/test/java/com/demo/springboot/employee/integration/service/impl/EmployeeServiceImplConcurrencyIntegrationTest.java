@@ -0,0 +1,152 @@
+package com.demo.springboot.employee.integration.service.impl;
+
+import com.demo.springboot.employee.EmployeeApplication;
+import com.demo.springboot.employee.constant.StatusConstants;
+import com.demo.springboot.employee.domain.Employee;
+import com.demo.springboot.employee.exception.ServiceException;
+import com.demo.springboot.employee.service.impl.EmployeeServiceImpl;
+import com.demo.springboot.employee.service.impl.RoleServiceImpl;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.context.web.WebAppConfiguration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@RunWith(SpringRunner.class)
+@WebAppConfiguration
+@SpringBootTest(classes = EmployeeApplication.class)
+public class EmployeeServiceImplConcurrencyIntegrationTest {
+
+    private static final String USERNAME = "concurrent.registration";
+
+    private static final int REGISTRATIONS = 2000;
+
+    private static final int UPDATES = 200;
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private EmployeeServiceImpl employeeServiceImpl;
+
+    @Autowired
+    private RoleServiceImpl roleServiceImpl;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @After
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM user_role WHERE user_id IN (SELECT id FROM employee WHERE username = ?)", USERNAME);
+        jdbcTemplate.update("DELETE FROM employee WHERE username = ?", USERNAME);
+    }
+
+    @Test
+    public void testConcurrentDuplicateRegistrationsHaveExactlyOneWinner() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger registered = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < REGISTRATIONS; i++) {
+                futures.add(executorService.submit(() -> {
+                    start.await();
+                    try {
+                        employeeServiceImpl.register(Employee.builder()
+                                .firstName("Concurrent")
+                                .lastName("Registration")
+                                .username(USERNAME)
+                                .password("password")
+                                .activeStatus("active")
+                                .roles(Collections.singletonList(roleServiceImpl.findByRoleName("STANDARD_USER")))
+                                .build());
+                        registered.incrementAndGet();
+                    } catch (ServiceException e) {
+                        Assert.assertEquals(StatusConstants.HttpConstants.USERNAME_IS_ALREADY_EXIST, e.getStatus());
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        Assert.assertEquals(1, registered.get());
+        Assert.assertEquals(REGISTRATIONS - 1, rejected.get());
+        Assert.assertEquals(Integer.valueOf(1),
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM employee WHERE username = ?", Integer.class, USERNAME));
+        Assert.assertEquals(Integer.valueOf(1), jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM user_role WHERE user_id IN (SELECT id FROM employee WHERE username = ?)", Integer.class, USERNAME));
+    }
+
+    @Test
+    public void testConcurrentUpdatesOfTheSameVersionHaveExactlyOneWinner() throws Exception {
+        employeeServiceImpl.register(Employee.builder()
+                .firstName("Concurrent")
+                .lastName("Update")
+                .username(USERNAME)
+                .password("password")
+                .activeStatus("active")
+                .roles(Collections.singletonList(roleServiceImpl.findByRoleName("STANDARD_USER")))
+                .build());
+        Long id = employeeServiceImpl.findViewByUsername(USERNAME).get().getId();
+        Long version = employeeServiceImpl.findViewById(id).get().getVersion();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger updated = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < UPDATES; i++) {
+                String lastName = "Update" + i;
+                futures.add(executorService.submit(() -> {
+                    start.await();
+                    try {
+                        employeeServiceImpl.update(Employee.builder()
+                                .id(id)
+                                .lastName(lastName)
+                                .version(version)
+                                .build());
+                        updated.incrementAndGet();
+                    } catch (ServiceException e) {
+                        Assert.assertEquals(StatusConstants.HttpConstants.EMPLOYEE_VERSION_CONFLICT, e.getStatus());
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        Assert.assertEquals(1, updated.get());
+        Assert.assertEquals(UPDATES - 1, rejected.get());
+        Assert.assertEquals(Long.valueOf(version + 1),
+                jdbcTemplate.queryForObject("SELECT version FROM employee WHERE username = ?", Long.class, USERNAME));
+    }
+
+}
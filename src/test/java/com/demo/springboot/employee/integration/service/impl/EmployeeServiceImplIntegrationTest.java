@@ -0,0 +1,205 @@
+package com.demo.springboot.employee.integration.service.impl;
+
+import com.demo.springboot.employee.EmployeeApplication;
+import com.demo.springboot.employee.domain.Employee;
+import com.demo.springboot.employee.domain.EmployeeView;
+import com.demo.springboot.employee.domain.Role;
+import com.demo.springboot.employee.repository.EmployeeRepository;
+import com.demo.springboot.employee.repository.RoleRepository;
+import com.demo.springboot.employee.service.impl.EmployeeServiceImpl;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RunWith(SpringRunner.class)
+@WebAppConfiguration
+@SpringBootTest(classes = EmployeeApplication.class)
+@Transactional
+public class EmployeeServiceImplIntegrationTest {
+
+    private static final int SEEDED_EMPLOYEES = 30;
+
+    @Autowired
+    private EmployeeServiceImpl employeeServiceImpl;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @Before
+    public void setup() {
+        List<Role> roles = new ArrayList<>();
+        roleRepository.findAll().forEach(roles::add);
+        for (int i = 0; i < SEEDED_EMPLOYEES; i++) {
+            employeeRepository.save(Employee.builder()
+                    .firstName("Statistics")
+                    .lastName("Employee" + i)
+                    .username("statistics.employee" + i)
+                    .password("password")
+                    .activeStatus("active")
+                    .roles(new ArrayList<>(roles))
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @After
+    public void tearDown() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    public void testFindAllProjectsViewsWithFixedStatementCount() {
+        for (int pageSize : new int[]{1, 5, SEEDED_EMPLOYEES}) {
+            statistics.clear();
+
+            List<EmployeeView> employeeList = employeeServiceImpl.findAll("statistics", null, null, pageSize);
+            employeeList.forEach(employee -> Assert.assertEquals(2, employee.getRoles().size()));
+
+            Assert.assertEquals(pageSize, employeeList.size());
+            Assert.assertEquals(2, statistics.getPrepareStatementCount());
+            Assert.assertEquals(0, statistics.getEntityLoadCount());
+            Assert.assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+        }
+    }
+
+    @Test
+    public void testFindViewByIdProjectsViewWithoutLoadingEntities() {
+        Long id = employeeRepository.findByUsername("statistics.employee0").get().getId();
+        entityManager.clear();
+        statistics.clear();
+
+        EmployeeView employee = employeeServiceImpl.findViewById(id).get();
+
+        Assert.assertEquals("statistics.employee0", employee.getUsername());
+        Assert.assertEquals("Statistics", employee.getFirstName());
+        Assert.assertEquals(2, employee.getRoles().size());
+        Assert.assertEquals("STANDARD_USER", employee.getRoles().get(0).getRoleName());
+        Assert.assertEquals(0, statistics.getEntityLoadCount());
+        Assert.assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+        Assert.assertFalse(employeeServiceImpl.findViewById(-1L).isPresent());
+    }
+
+    @Test
+    public void testFindByIdAndUsernameLoadRolesWithSingleStatement() {
+        Long id = employeeRepository.findByUsername("statistics.employee0").get().getId();
+        entityManager.clear();
+        statistics.clear();
+
+        Employee employee = employeeServiceImpl.findById(id).get();
+        Assert.assertEquals(2, employee.getRoles().size());
+        Assert.assertEquals(1, statistics.getPrepareStatementCount());
+        entityManager.clear();
+        statistics.clear();
+
+        Employee employeeByUsername = employeeServiceImpl.findByUserName("statistics.employee1").get();
+        Assert.assertEquals(2, employeeByUsername.getRoles().size());
+        Assert.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testUpdateOnlyWritesChangedEmployeeColumns() {
+        Long id = employeeRepository.findByUsername("statistics.employee2").get().getId();
+        entityManager.clear();
+        statistics.clear();
+
+        employeeServiceImpl.update(Employee.builder()
+                .id(id)
+                .lastName("Renamed")
+                .build());
+        entityManager.flush();
+
+        Assert.assertEquals(1, statistics.getEntityUpdateCount());
+        Assert.assertEquals(0, statistics.getCollectionUpdateCount());
+        // one select of the employee with its roles and one update
+        Assert.assertEquals(2, statistics.getPrepareStatementCount());
+        entityManager.clear();
+
+        Employee employee = employeeRepository.findById(id).get();
+        Assert.assertEquals("Renamed", employee.getLastName());
+        Assert.assertEquals("Statistics", employee.getFirstName());
+        Assert.assertEquals("password", employee.getPassword());
+        Assert.assertEquals("active", employee.getActiveStatus());
+        Assert.assertEquals(2, employee.getRoles().size());
+    }
+
+    @Test
+    public void testUpdateWithSameRolesDoesNotRewriteRoles() {
+        Long id = employeeRepository.findByUsername("statistics.employee3").get().getId();
+        List<Role> roles = new ArrayList<>();
+        roleRepository.findAll().forEach(roles::add);
+        entityManager.clear();
+        statistics.clear();
+
+        employeeServiceImpl.update(Employee.builder()
+                .id(id)
+                .firstName("Statistics")
+                .roles(roles)
+                .build());
+        entityManager.flush();
+
+        Assert.assertEquals(0, statistics.getEntityUpdateCount());
+        Assert.assertEquals(0, statistics.getCollectionUpdateCount());
+    }
+
+    @Test
+    public void testRegisterAllUsesBatchedInserts() {
+        List<Role> roles = new ArrayList<>();
+        roleRepository.findAll().forEach(roles::add);
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            employees.add(Employee.builder()
+                    .firstName("Batch")
+                    .lastName("Employee" + i)
+                    .username("batch.employee" + i)
+                    .password("password")
+                    .activeStatus("active")
+                    .roles(new ArrayList<>(roles))
+                    .build());
+        }
+        statistics.clear();
+
+        employeeServiceImpl.registerAll(employees);
+
+        employees.forEach(employee -> Assert.assertNotNull(employee.getId()));
+        Assert.assertEquals(120, statistics.getEntityInsertCount());
+        // 3 sequence calls, 3 batches of employee rows and 5 batches of user_role rows instead of 360 single inserts
+        Assert.assertTrue(statistics.getPrepareStatementCount() <= 12);
+        Assert.assertEquals(120, employeeServiceImpl.findExistingUsernames(employees.stream()
+                .map(Employee::getUsername)
+                .collect(Collectors.toList())).size());
+    }
+
+}
@@ -0,0 +1,134 @@
+package com.demo.springboot.employee.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.http.HttpHeaders;
+import org.apache.http.NameValuePair;
+import org.apache.http.client.entity.UrlEncodedFormEntity;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpDelete;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpPut;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.message.BasicNameValuePair;
+import org.apache.http.util.EntityUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Calls the employee endpoints with an admin access token
+ * A call succeeds when it is answered with HTTP 200 and status code 0
+ */
+public class EmployeeApiClient implements Closeable {
+
+    private static final String SUCCESS_PREFIX = "{\"status\":{\"code\":0,";
+
+    private final String baseUrl;
+
+    private final CloseableHttpClient httpClient;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private String authorization;
+
+    public EmployeeApiClient(String baseUrl, int connections) {
+        this.baseUrl = baseUrl;
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(connections);
+        connectionManager.setDefaultMaxPerRoute(connections);
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .disableCookieManagement()
+                .build();
+    }
+
+    /**
+     * Obtain an access token with the password grant, the way the clients of the api do
+     */
+    @SuppressWarnings("unchecked")
+    public void authenticate(String clientId, String clientSecret, String username, String password) throws IOException {
+        try (CloseableHttpResponse response = httpClient.execute(tokenRequest(clientId, clientSecret, username, password))) {
+            String body = EntityUtils.toString(response.getEntity());
+            if (response.getStatusLine().getStatusCode() != 200) {
+                throw new IOException("Failed obtaining an access token: " + body);
+            }
+            authorization = "Bearer " + objectMapper.readValue(body, Map.class).get("access_token");
+        }
+    }
+
+    /**
+     * Log in with the password grant, as a client without a cached token does
+     */
+    public boolean login(String clientId, String clientSecret, String username, String password) throws IOException {
+        try (CloseableHttpResponse response = httpClient.execute(tokenRequest(clientId, clientSecret, username, password))) {
+            EntityUtils.consume(response.getEntity());
+            return response.getStatusLine().getStatusCode() == 200;
+        }
+    }
+
+    public boolean list(String name, int limit) throws IOException {
+        return execute(new HttpGet(baseUrl + "/employee-api/v1/employees?limit=" + limit + (name == null ? "" : "&name=" + name)));
+    }
+
+    public boolean get(long id) throws IOException {
+        return execute(new HttpGet(baseUrl + "/employee-api/v1/employee/" + id));
+    }
+
+    public boolean register(String username) throws IOException {
+        HttpPost post = new HttpPost(baseUrl + "/employee-api/v1/employee");
+        post.setEntity(json("{\"first_name\":\"Load\",\"last_name\":\"Test\",\"password\":\"jwtpass\",\"username\":\"" + username
+                + "\",\"roles\":[{\"roleName\":\"STANDARD_USER\"}]}"));
+        return execute(post);
+    }
+
+    public boolean update(long id, String firstName) throws IOException {
+        HttpPut put = new HttpPut(baseUrl + "/employee-api/v1/employee");
+        put.setEntity(json("{\"id\":" + id + ",\"first_name\":\"" + firstName + "\"}"));
+        return execute(put);
+    }
+
+    public boolean delete(long id) throws IOException {
+        return execute(new HttpDelete(baseUrl + "/employee-api/v1/employee/" + id));
+    }
+
+    private boolean execute(HttpRequestBase request) throws IOException {
+        request.setHeader(HttpHeaders.AUTHORIZATION, authorization);
+        try (CloseableHttpResponse response = httpClient.execute(request)) {
+            String body = EntityUtils.toString(response.getEntity());
+            return response.getStatusLine().getStatusCode() == 200 && body.startsWith(SUCCESS_PREFIX);
+        }
+    }
+
+    private HttpPost tokenRequest(String clientId, String clientSecret, String username, String password) {
+        HttpPost post = new HttpPost(baseUrl + "/oauth/token");
+        post.setHeader(HttpHeaders.AUTHORIZATION, "Basic " + Base64.getEncoder()
+                .encodeToString((clientId + ":" + clientSecret).getBytes(StandardCharsets.UTF_8)));
+        List<NameValuePair> form = Arrays.asList(
+                new BasicNameValuePair("grant_type", "password"),
+                new BasicNameValuePair("username", username),
+                new BasicNameValuePair("password", password));
+        post.setEntity(new UrlEncodedFormEntity(form, StandardCharsets.UTF_8));
+        return post;
+    }
+
+    private static StringEntity json(String body) {
+        return new StringEntity(body, ContentType.APPLICATION_JSON);
+    }
+
+    @Override
+    public void close() throws IOException {
+        httpClient.close();
+    }
+
+}
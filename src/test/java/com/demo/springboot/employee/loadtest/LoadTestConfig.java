@@ -0,0 +1,93 @@
+package com.demo.springboot.employee.loadtest;
+
+import lombok.Getter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Settings of a load test run, read from {@code loadtest.*} system properties
+ */
+@Getter
+public class LoadTestConfig {
+
+    /**
+     * Base url of an already running application, empty to start the application in this JVM
+     */
+    private final String targetUrl = System.getProperty("loadtest.target-url", "");
+
+    /**
+     * JDBC url used to seed a running application, empty to skip seeding it
+     */
+    private final String jdbcUrl = System.getProperty("loadtest.jdbc-url", "");
+
+    private final String jdbcUsername = System.getProperty("loadtest.jdbc-username", "sa");
+
+    private final String jdbcPassword = System.getProperty("loadtest.jdbc-password", "");
+
+    private final int employees = Integer.getInteger("loadtest.employees", 10_000);
+
+    private final String username = System.getProperty("loadtest.username", "admin");
+
+    private final String password = System.getProperty("loadtest.password", "jwtpass");
+
+    private final String clientId = System.getProperty("loadtest.client-id", "testjwtclientid");
+
+    private final String clientSecret = System.getProperty("loadtest.client-secret", "XY7kmzoNzl100");
+
+    /**
+     * Requests started per second, regardless of how fast the previous ones complete
+     */
+    private final int rate = Integer.getInteger("loadtest.rate", 200);
+
+    private final int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 10);
+
+    private final int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 30);
+
+    private final int threads = Integer.getInteger("loadtest.threads", 64);
+
+    private final Map<Operation, Integer> mix = parseMix(System.getProperty("loadtest.mix", "list=30,get=50,register=5,update=10,delete=5"));
+
+    private final long sloP99Millis = Long.getLong("loadtest.slo.p99-ms", 250);
+
+    private final long sloP999Millis = Long.getLong("loadtest.slo.p999-ms", 1000);
+
+    private final double sloMaxErrorRate = Double.parseDouble(System.getProperty("loadtest.slo.max-error-rate", "0.001"));
+
+    /**
+     * Share of the configured rate which has to be completed per second
+     */
+    private final double sloMinThroughputRatio = Double.parseDouble(System.getProperty("loadtest.slo.min-throughput-ratio", "0.95"));
+
+    /**
+     * Report of an earlier run to compare against, empty for none
+     */
+    private final String baseline = System.getProperty("loadtest.baseline", "");
+
+    /**
+     * Allowed growth of p99 over the baseline, 0.2 is 20%
+     */
+    private final double maxRegression = Double.parseDouble(System.getProperty("loadtest.slo.max-regression", "0.2"));
+
+    /**
+     * employee.request-execution.mode of the application started in this JVM, platform or virtual
+     */
+    private final String executionMode = System.getProperty("loadtest.execution-mode", "platform");
+
+    /**
+     * security.password-verification-cache.enabled of the application started in this JVM
+     */
+    private final boolean passwordVerificationCache = Boolean.parseBoolean(System.getProperty("loadtest.password-verification-cache", "true"));
+
+    private final String report = System.getProperty("loadtest.report", "target/load-test-report.json");
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] weight = entry.trim().split("=");
+            weights.put(Operation.valueOf(weight[0].trim().toUpperCase()), Integer.parseInt(weight[1].trim()));
+        }
+        return weights;
+    }
+
+}
@@ -0,0 +1,291 @@
+package com.demo.springboot.employee.loadtest;
+
+import com.demo.springboot.employee.EmployeeApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives mixed traffic against the employee endpoints at a fixed arrival rate and checks the latency SLOs
+ * <p>
+ * Without {@code loadtest.target-url} the application is started in this JVM on a random port with its own
+ * in-memory H2, otherwise a locally started application is used and seeded through {@code loadtest.jdbc-url}.
+ * Requests are started on schedule whether or not earlier ones completed, and latency is measured from the time
+ * a request was due, so a stalled server shows up in the percentiles instead of slowing the load down.
+ * <p>
+ * The run fails when p99, p999, the error rate or the throughput miss their SLO, or when p99 grew more than
+ * {@code loadtest.slo.max-regression} over the {@code loadtest.baseline} report.
+ */
+public class LoadTestRunner {
+
+    /**
+     * BCrypt hash of jwtpass, the seeded employees can log in
+     */
+    private static final String SEED_PASSWORD = "$2a$10$qtH0F1m488673KwgAfFXEOWxsoZSeHqqlB/8BTt3a6gsI5c2mdlfe";
+
+    private static final long STANDARD_USER_ROLE_ID = 1L;
+
+    private static final int SEED_BATCH_SIZE = 10_000;
+
+    private static final int PAGE_SIZE = 50;
+
+    private final LoadTestConfig config;
+
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicLong registered = new AtomicLong();
+
+    private final AtomicLong completedInWindow = new AtomicLong();
+
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+
+    private final Operation[] operations;
+
+    private long firstId;
+
+    private boolean seeded;
+
+    private long readableIds;
+
+    private AtomicLong nextDeletedId;
+
+    public LoadTestRunner(LoadTestConfig config) {
+        this.config = config;
+        List<Operation> weighted = new ArrayList<>();
+        config.getMix().forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weighted.add(operation);
+            }
+        });
+        this.operations = weighted.toArray(new Operation[0]);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = new LoadTestConfig();
+        ConfigurableApplicationContext context = null;
+        int exitCode;
+        try {
+            String baseUrl;
+            DataSource dataSource = null;
+            if (config.getTargetUrl().isEmpty()) {
+                // passed as arguments, default properties would lose against application.yaml
+                context = new SpringApplicationBuilder(EmployeeApplication.class)
+                        .run("--server.port=0",
+                                "--spring.datasource.url=jdbc:h2:mem:load-test;DB_CLOSE_DELAY=-1;QUERY_CACHE_SIZE=64",
+                                "--logging.level.root=WARN",
+                                "--employee.access-log.enabled=false",
+                                "--employee.request-execution.mode=" + config.getExecutionMode(),
+                                "--security.password-verification-cache.enabled=" + config.isPasswordVerificationCache());
+                baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+                dataSource = context.getBean(DataSource.class);
+            } else {
+                baseUrl = config.getTargetUrl();
+                if (!config.getJdbcUrl().isEmpty()) {
+                    dataSource = new DriverManagerDataSource(config.getJdbcUrl(), config.getJdbcUsername(), config.getJdbcPassword());
+                }
+            }
+            exitCode = new LoadTestRunner(config).run(baseUrl, dataSource);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+        System.exit(exitCode);
+    }
+
+    public int run(String baseUrl, DataSource dataSource) throws Exception {
+        if (dataSource != null) {
+            seed(new JdbcTemplate(dataSource));
+            seeded = true;
+        } else {
+            firstId = Long.getLong("loadtest.first-id", 1L);
+            System.out.printf("Not seeding, expecting %d employees from id %d%n", config.getEmployees(), firstId);
+        }
+        // the last tenth of the employees is deleted, the rest is read and updated
+        readableIds = Math.max(1, config.getEmployees() - config.getEmployees() / 10);
+        nextDeletedId = new AtomicLong(firstId + config.getEmployees() - 1);
+
+        try (EmployeeApiClient client = new EmployeeApiClient(baseUrl, config.getThreads())) {
+            client.authenticate(config.getClientId(), config.getClientSecret(), config.getUsername(), config.getPassword());
+            drive(client);
+        }
+
+        Map<String, Object> report = report();
+        List<String> violations = checkSlo(report);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(new File(config.getReport()), report);
+        System.out.printf("Report written to %s%n", config.getReport());
+        if (!violations.isEmpty()) {
+            violations.forEach(violation -> System.out.println("SLO violated: " + violation));
+            return 1;
+        }
+        System.out.println("All SLOs met");
+        return 0;
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        long start = System.nanoTime();
+        firstId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM employee", Long.class);
+        for (long from = firstId; from < firstId + config.getEmployees(); from += SEED_BATCH_SIZE) {
+            long to = Math.min(from + SEED_BATCH_SIZE, firstId + config.getEmployees());
+            List<Object[]> employees = new ArrayList<>();
+            List<Object[]> userRoles = new ArrayList<>();
+            for (long id = from; id < to; id++) {
+                employees.add(new Object[]{id, "First" + id, "Last" + id, SEED_PASSWORD, "loadtest." + runId + ".seed" + id, "active"});
+                userRoles.add(new Object[]{id, STANDARD_USER_ROLE_ID});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO employee (id, first_name, last_name, password, username, active_status) VALUES (?, ?, ?, ?, ?, ?)", employees);
+            jdbcTemplate.batchUpdate("INSERT INTO user_role (user_id, role_id) VALUES (?, ?)", userRoles);
+        }
+        // registrations get their ids from the sequence, it has to start above the seeded ones
+        jdbcTemplate.execute("ALTER SEQUENCE employee_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM employee)");
+        System.out.printf("Seeded %d employees from id %d in %d ms%n", config.getEmployees(), firstId,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void drive(EmployeeApiClient client) throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(config.getThreads());
+        long interval = TimeUnit.SECONDS.toNanos(1) / config.getRate();
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(config.getWarmupSeconds());
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(config.getDurationSeconds());
+        System.out.printf("Driving %d requests/s for %d s after a %d s warmup%n", config.getRate(),
+                config.getDurationSeconds(), config.getWarmupSeconds());
+
+        for (long due = start; due < end; due += interval) {
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = operations[ThreadLocalRandom.current().nextInt(operations.length)];
+            boolean measured = due >= measureFrom;
+            long dueTime = due;
+            workers.execute(() -> {
+                boolean success;
+                try {
+                    success = call(client, operation);
+                } catch (IOException e) {
+                    success = false;
+                }
+                long completed = System.nanoTime();
+                if (measured) {
+                    stats.get(operation).record(completed - dueTime, success);
+                }
+                if (completed >= measureFrom && completed < end) {
+                    completedInWindow.incrementAndGet();
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(5, TimeUnit.MINUTES);
+    }
+
+    private boolean call(EmployeeApiClient client, Operation operation) throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long id = firstId + random.nextLong(readableIds);
+        switch (operation) {
+            case LIST:
+                return client.list(random.nextInt(3) == 0 ? "First" + id : null, PAGE_SIZE);
+            case GET:
+                return client.get(id);
+            case REGISTER:
+                return client.register("loadtest." + runId + ".registered" + registered.incrementAndGet());
+            case UPDATE:
+                return client.update(id, "Updated" + random.nextInt(1000));
+            case DELETE:
+                return client.delete(nextDeletedId.getAndDecrement());
+            case LOGIN:
+                return seeded
+                        ? client.login(config.getClientId(), config.getClientSecret(), "loadtest." + runId + ".seed" + id, "jwtpass")
+                        : client.login(config.getClientId(), config.getClientSecret(), config.getUsername(), config.getPassword());
+            default:
+                throw new IllegalArgumentException(operation.name());
+        }
+    }
+
+    private Map<String, Object> report() {
+        OperationStats total = new OperationStats();
+        Map<String, Object> operationsReport = new LinkedHashMap<>();
+        System.out.printf("%-10s %10s %8s %12s %10s %10s %10s %10s%n", "operation", "count", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            if (entry.getValue().count() > 0) {
+                total.add(entry.getValue());
+                operationsReport.put(entry.getKey().name().toLowerCase(), print(entry.getKey().name().toLowerCase(), entry.getValue()));
+            }
+        }
+        Map<String, Object> totalReport = print("total", total);
+        totalReport.put("throughput", (double) completedInWindow.get() / config.getDurationSeconds());
+        totalReport.put("error_rate", total.errorRate());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("employees", config.getEmployees());
+        report.put("rate", config.getRate());
+        report.put("duration_seconds", config.getDurationSeconds());
+        report.put("execution_mode", config.getTargetUrl().isEmpty() ? config.getExecutionMode() : "external");
+        report.put("java_version", System.getProperty("java.version"));
+        report.put("total", totalReport);
+        report.put("operations", operationsReport);
+        return report;
+    }
+
+    private Map<String, Object> print(String name, OperationStats operationStats) {
+        Map<String, Object> report = operationStats.toReport(config.getDurationSeconds());
+        System.out.printf("%-10s %10d %8d %12.1f %10.2f %10.2f %10.2f %10.2f%n", name, report.get("count"), report.get("errors"),
+                report.get("throughput"), report.get("p50_ms"), report.get("p99_ms"), report.get("p999_ms"), report.get("max_ms"));
+        return report;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> checkSlo(Map<String, Object> report) throws IOException {
+        Map<String, Object> total = (Map<String, Object>) report.get("total");
+        double p99 = (Double) total.get("p99_ms");
+        double p999 = (Double) total.get("p999_ms");
+        double errorRate = (Double) total.get("error_rate");
+        double throughput = (Double) total.get("throughput");
+
+        List<String> violations = new ArrayList<>();
+        if (p99 > config.getSloP99Millis()) {
+            violations.add(String.format("p99 %.2f ms > %d ms", p99, config.getSloP99Millis()));
+        }
+        if (p999 > config.getSloP999Millis()) {
+            violations.add(String.format("p999 %.2f ms > %d ms", p999, config.getSloP999Millis()));
+        }
+        if (errorRate > config.getSloMaxErrorRate()) {
+            violations.add(String.format("error rate %.4f > %.4f", errorRate, config.getSloMaxErrorRate()));
+        }
+        if (throughput < config.getRate() * config.getSloMinThroughputRatio()) {
+            violations.add(String.format("throughput %.1f req/s < %.1f req/s", throughput, config.getRate() * config.getSloMinThroughputRatio()));
+        }
+        if (!config.getBaseline().isEmpty()) {
+            JsonNode baseline = new ObjectMapper().readTree(new File(config.getBaseline())).get("total");
+            double baselineP99 = baseline.get("p99_ms").asDouble();
+            if (p99 > baselineP99 * (1 + config.getMaxRegression())) {
+                violations.add(String.format("p99 %.2f ms regressed more than %.0f%% over the baseline %.2f ms",
+                        p99, config.getMaxRegression() * 100, baselineP99));
+            }
+        }
+        return violations;
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.demo.springboot.employee.loadtest;
+
+/**
+ * The employee endpoints driven by the load test
+ */
+public enum Operation {
+
+    LIST,
+    GET,
+    REGISTER,
+    UPDATE,
+    DELETE,
+    LOGIN
+
+}
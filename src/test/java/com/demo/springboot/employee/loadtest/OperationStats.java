@@ -0,0 +1,60 @@
+package com.demo.springboot.employee.loadtest;
+
+import lombok.Getter;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latencies in microseconds, from the time a request was due to be sent, and the errors of one operation
+ */
+@Getter
+public class OperationStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+
+    private final AtomicLong errors = new AtomicLong();
+
+    public void record(long latencyNanos, boolean success) {
+        histogram.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS));
+        if (!success) {
+            errors.incrementAndGet();
+        }
+    }
+
+    public void add(OperationStats other) {
+        histogram.add(other.histogram);
+        errors.addAndGet(other.errors.get());
+    }
+
+    public long count() {
+        return histogram.getTotalCount();
+    }
+
+    public double errorRate() {
+        return count() == 0 ? 0 : (double) errors.get() / count();
+    }
+
+    public double percentileMillis(double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public Map<String, Object> toReport(int durationSeconds) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("count", count());
+        report.put("errors", errors.get());
+        report.put("throughput", (double) count() / durationSeconds);
+        report.put("p50_ms", percentileMillis(50));
+        report.put("p99_ms", percentileMillis(99));
+        report.put("p999_ms", percentileMillis(99.9));
+        report.put("max_ms", histogram.getMaxValue() / 1000.0);
+        return report;
+    }
+
+}
@@ -5,15 +5,26 @@ import com.demo.springboot.employee.constant.StatusConstants;
 import com.demo.springboot.employee.converter.RegisterEmployeeRequestToEmployeeConverter;
 import com.demo.springboot.employee.converter.UpdateEmployeeRequestToEmployeeEntityConverter;
 import com.demo.springboot.employee.domain.Employee;
+import com.demo.springboot.employee.domain.EmployeeView;
+import com.demo.springboot.employee.domain.EmployeeSummary;
 import com.demo.springboot.employee.domain.Role;
+import com.demo.springboot.employee.domain.RoleView;
 import com.demo.springboot.employee.exception.ComponentException;
+import com.demo.springboot.employee.exception.InvalidRequestException;
 import com.demo.springboot.employee.exception.ServiceException;
+import com.demo.springboot.employee.model.request.BulkDeleteEmployeeRequest;
+import com.demo.springboot.employee.model.request.BulkRegisterEmployeeRequest;
+import com.demo.springboot.employee.model.request.EmployeeSearchRequest;
 import com.demo.springboot.employee.model.request.RegisterEmployeeRequest;
 import com.demo.springboot.employee.model.request.RoleRequest;
 import com.demo.springboot.employee.model.request.UpdateEmployeeRequest;
+import com.demo.springboot.employee.model.response.BulkDeleteEmployeeResponse;
+import com.demo.springboot.employee.model.response.BulkRegisterEmployeeResponse;
 import com.demo.springboot.employee.model.response.EmployeeListResponse;
 import com.demo.springboot.employee.model.response.EmployeeResponse;
 import com.demo.springboot.employee.service.impl.EmployeeServiceImpl;
+import com.demo.springboot.employee.util.CursorUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
@@ -22,11 +33,19 @@ import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import javax.validation.Validation;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @RunWith(MockitoJUnitRunner.class)
 public class EmployeeComponentTest {
@@ -39,87 +58,111 @@ public class EmployeeComponentTest {
     private RegisterEmployeeRequestToEmployeeConverter registerEmployeeRequestToEmployeeConverter;
     @Mock
     private UpdateEmployeeRequestToEmployeeEntityConverter updateEmployeeRequestToEmployeeEntityConverter;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
     @InjectMocks
     private EmployeeComponent employeeComponent;
 
     @Test
     public void testFindAllUsersWithSuccess() {
-        List<Role> role = new ArrayList<Role>() {
-            {
-                add(new Role().builder()
-                        .roleName("ADMIN")
-                        .description("Desc")
-                        .id(1L)
-                        .build()
-                );
-            }
-        };
-        Employee employee = Employee.builder()
-                .activeStatus("active")
-                .firstName("first name")
-                .lastName("last name")
-                .password("password")
-                .username("username")
-                .id(1L)
-                .roles(role)
-                .deletedDate(null)
-                .build();
-        List<Employee> employeeList = new ArrayList<>();
+        EmployeeView employee = new EmployeeView(1L, "username", "first name", "last name", "active", null, null,
+                Collections.singletonList(new RoleView(1L, "ADMIN", "Desc")), 1L);
+        List<EmployeeView> employeeList = new ArrayList<>();
         employeeList.add(employee);
 
-        Mockito.doReturn(employeeList).when(genericService).findAll();
+        Mockito.doReturn(employeeList).when(genericService).findAll(null, null, null, 51);
 
-        EmployeeListResponse employeeListResponse = employeeComponent.findAllEmployees();
+        EmployeeListResponse employeeListResponse = employeeComponent.findAllEmployees(new EmployeeSearchRequest());
 
         Assert.assertEquals(1, employeeListResponse.getEmployeeList().size());
         Assert.assertEquals(employee, employeeListResponse.getEmployeeList().get(0));
-        Mockito.verify(genericService, Mockito.times(1)).findAll();
+        Assert.assertNull(employeeListResponse.getNextCursor());
+        Mockito.verify(genericService, Mockito.times(1)).findAll(null, null, null, 51);
+
+    }
+
+    @Test
+    public void testFindAllUsersWithNextCursor() {
+        List<EmployeeView> employeeList = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            employeeList.add(new EmployeeView(id, "username" + id, null, null, "active", null, null, 1L));
+        }
+        EmployeeSearchRequest employeeSearchRequest = EmployeeSearchRequest.builder()
+                .name("first")
+                .role("ADMIN")
+                .limit(2)
+                .build();
+
+        Mockito.doReturn(employeeList).when(genericService).findAll("first", "ADMIN", null, 3);
+
+        EmployeeListResponse employeeListResponse = employeeComponent.findAllEmployees(employeeSearchRequest);
+
+        Assert.assertEquals(2, employeeListResponse.getEmployeeList().size());
+        Assert.assertEquals(CursorUtils.encode(2L), employeeListResponse.getNextCursor());
+
+        employeeSearchRequest.setCursor(employeeListResponse.getNextCursor());
+        Mockito.doReturn(employeeList.subList(2, 3)).when(genericService).findAll("first", "ADMIN", 2L, 3);
+
+        EmployeeListResponse nextEmployeeListResponse = employeeComponent.findAllEmployees(employeeSearchRequest);
+
+        Assert.assertEquals(1, nextEmployeeListResponse.getEmployeeList().size());
+        Assert.assertEquals(Long.valueOf(3L), nextEmployeeListResponse.getEmployeeList().get(0).getId());
+        Assert.assertNull(nextEmployeeListResponse.getNextCursor());
+
+    }
+
+    @Test
+    public void testFindAllUsersWithPageSizeCap() {
+        Mockito.doReturn(new ArrayList<>()).when(genericService).findAll(null, null, null, 501);
+
+        employeeComponent.findAllEmployees(EmployeeSearchRequest.builder().limit(100_000).build());
+
+        Mockito.verify(genericService, Mockito.times(1)).findAll(null, null, null, 501);
+
+    }
+
+    @Test
+    public void testFindAllUsersWithInvalidCursor() {
+        expectedException.expect(InvalidRequestException.class);
+        expectedException.expectMessage(StatusConstants.HttpConstants.INVALID_PAGINATION_PARAMETER.getDesc());
+
+        employeeComponent.findAllEmployees(EmployeeSearchRequest.builder().cursor("not-a-cursor").build());
+
+    }
+
+    @Test
+    public void testFindAllUsersWithInvalidLimit() {
+        expectedException.expect(InvalidRequestException.class);
+        expectedException.expectMessage(StatusConstants.HttpConstants.INVALID_PAGINATION_PARAMETER.getDesc());
+
+        employeeComponent.findAllEmployees(EmployeeSearchRequest.builder().limit(0).build());
 
     }
 
     @Test
     public void testFindAllUsersWithException() {
-        Mockito.doThrow(Exception.class).when(genericService).findAll();
+        Mockito.doThrow(Exception.class).when(genericService).findAll(null, null, null, 51);
 
         expectedException.expect(ComponentException.class);
         expectedException.expectMessage(StatusConstants.HttpConstants.CAN_NOT_GET_ALL_EMPLOYEE_LIST.getDesc());
 
-        employeeComponent.findAllEmployees();
-        Mockito.verify(genericService, Mockito.times(1)).findAll();
+        employeeComponent.findAllEmployees(new EmployeeSearchRequest());
+        Mockito.verify(genericService, Mockito.times(1)).findAll(null, null, null, 51);
 
     }
 
     @Test
     public void testFindByIdWithSuccess() {
         Long id = 1L;
+        EmployeeView employee = new EmployeeView(1L, "username", "first name", "last name", "active", null, null,
+                Collections.singletonList(new RoleView(1L, "ADMIN", "Desc")), 1L);
 
-        List<Role> role = new ArrayList<Role>() {
-            {
-                add(new Role().builder()
-                        .roleName("ADMIN")
-                        .description("Desc")
-                        .id(1L)
-                        .build()
-                );
-            }
-        };
-        Employee employee = Employee.builder()
-                .activeStatus("active")
-                .firstName("first name")
-                .lastName("last name")
-                .password("password")
-                .username("username")
-                .id(1L)
-                .roles(role)
-                .deletedDate(null)
-                .build();
-
-        Mockito.doReturn(Optional.of(employee)).when(genericService).findById(id);
+        Mockito.doReturn(Optional.of(employee)).when(genericService).findViewById(id);
 
         EmployeeResponse employeeResponse = employeeComponent.findById(id);
 
         Assert.assertEquals(employee, employeeResponse.getEmployee());
-        Mockito.verify(genericService, Mockito.times(1)).findById(id);
+        Mockito.verify(genericService, Mockito.times(1)).findViewById(id);
 
     }
 
@@ -127,14 +170,14 @@ public class EmployeeComponentTest {
     public void testFindByIdWithComponentExceptionAndEmployeeIdNotFound() {
         Long id = 1L;
 
-        Mockito.doReturn(Optional.empty()).when(genericService).findById(id);
+        Mockito.doReturn(Optional.empty()).when(genericService).findViewById(id);
 
         expectedException.expect(ComponentException.class);
         expectedException.expectMessage(StatusConstants.HttpConstants.EMPLOYEE_ID_IS_NOT_FOUND.getDesc());
 
         employeeComponent.findById(id);
 
-        Mockito.verify(genericService, Mockito.times(1)).findById(id);
+        Mockito.verify(genericService, Mockito.times(1)).findViewById(id);
 
     }
 
@@ -142,14 +185,14 @@ public class EmployeeComponentTest {
     public void testFindByIdWithException() {
         Long id = 1L;
 
-        Mockito.doThrow(Exception.class).when(genericService).findById(id);
+        Mockito.doThrow(Exception.class).when(genericService).findViewById(id);
 
         expectedException.expect(ComponentException.class);
         expectedException.expectMessage(StatusConstants.HttpConstants.CAN_NOT_GET_EMPLOYEE_BY_ID.getDesc());
 
         employeeComponent.findById(id);
 
-        Mockito.verify(genericService, Mockito.times(1)).findById(id);
+        Mockito.verify(genericService, Mockito.times(1)).findViewById(id);
 
     }
 
@@ -471,39 +514,189 @@ public class EmployeeComponentTest {
     @Test
     public void testDeleteWithSuccess() {
         Long id = 1L;
-        Mockito.doNothing().when(genericService).delete(id);
+        Mockito.doNothing().when(genericService).delete(id, null);
 
         employeeComponent.delete(id);
 
-        Mockito.verify(genericService, Mockito.times(1)).delete(id);
+        Mockito.verify(genericService, Mockito.times(1)).delete(id, null);
 
     }
 
     @Test
     public void testDeleteWithServiceException() {
         Long id = 1L;
-        Mockito.doThrow(new ServiceException(StatusConstants.HttpConstants.EMPLOYEE_ID_IS_NOT_FOUND)).when(genericService).delete(id);
+        Mockito.doThrow(new ServiceException(StatusConstants.HttpConstants.EMPLOYEE_ID_IS_NOT_FOUND)).when(genericService).delete(id, null);
 
         expectedException.expect(ServiceException.class);
         expectedException.expectMessage(StatusConstants.HttpConstants.EMPLOYEE_ID_IS_NOT_FOUND.getDesc());
 
         employeeComponent.delete(id);
 
-        Mockito.verify(genericService, Mockito.times(1)).delete(id);
+        Mockito.verify(genericService, Mockito.times(1)).delete(id, null);
 
     }
 
     @Test
     public void testDeleteWithException() {
         Long id = 1L;
-        Mockito.doThrow(Exception.class).when(genericService).delete(id);
+        Mockito.doThrow(Exception.class).when(genericService).delete(id, null);
 
         expectedException.expect(ComponentException.class);
         expectedException.expectMessage(StatusConstants.HttpConstants.FAILED_TO_DELETE_EMPLOYEE.getDesc());
 
         employeeComponent.delete(id);
 
-        Mockito.verify(genericService, Mockito.times(1)).delete(id);
+        Mockito.verify(genericService, Mockito.times(1)).delete(id, null);
+
+    }
+
+    @Test
+    public void testExportEmployeesWithSuccess() {
+        Mockito.doAnswer(invocation -> {
+            Consumer<EmployeeSummary> consumer = (Consumer<EmployeeSummary>) invocation.getArguments()[1];
+            consumer.accept(new EmployeeSummary(2L, "first.last", "first", "last", "active", null, null));
+            consumer.accept(new EmployeeSummary(3L, "second.last", "second", "last", "inactive", null, null));
+            return null;
+        }).when(genericService).exportAll(Mockito.eq(1L), Mockito.any(Consumer.class));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        employeeComponent.exportEmployees(1L, outputStream);
+
+        String[] lines = new String(outputStream.toByteArray(), StandardCharsets.UTF_8).split("\n");
+        Assert.assertEquals(2, lines.length);
+        Assert.assertTrue(lines[0].startsWith("{\"id\":2,\"username\":\"first.last\""));
+        Assert.assertTrue(lines[1].startsWith("{\"id\":3,\"username\":\"second.last\""));
+
+    }
+
+    @Test
+    public void testExportEmployeesWithException() {
+        Mockito.doThrow(Exception.class).when(genericService).exportAll(Mockito.anyLong(), Mockito.any(Consumer.class));
+
+        expectedException.expect(ComponentException.class);
+        expectedException.expectMessage(StatusConstants.HttpConstants.FAILED_TO_EXPORT_EMPLOYEE_LIST.getDesc());
+
+        employeeComponent.exportEmployees(1L, new ByteArrayOutputStream());
+
+    }
+
+    private RegisterEmployeeRequest registerEmployeeRequest(String username) {
+        List<RoleRequest> roleRequestList = new ArrayList<RoleRequest>() {
+            {
+                add(new RoleRequest().builder()
+                        .roleName("ADMIN")
+                        .build()
+                );
+            }
+        };
+        return RegisterEmployeeRequest.builder()
+                .firstName("first name")
+                .lastName("last name")
+                .password("password")
+                .roles(roleRequestList)
+                .username(username)
+                .build();
+    }
+
+    @Test
+    public void testBulkRegisterWithPerEmployeeResults() {
+        ReflectionTestUtils.setField(employeeComponent, "validator", Validation.buildDefaultValidatorFactory().getValidator());
+        RegisterEmployeeRequest newEmployee = registerEmployeeRequest("new.employee");
+        RegisterEmployeeRequest existingEmployee = registerEmployeeRequest("existing.employee");
+        RegisterEmployeeRequest invalidEmployee = registerEmployeeRequest("invalid.employee");
+        invalidEmployee.setFirstName("");
+        RegisterEmployeeRequest duplicateEmployee = registerEmployeeRequest("new.employee");
+        RegisterEmployeeRequest unknownRoleEmployee = registerEmployeeRequest("unknown.role");
+
+        Employee employee = Employee.builder()
+                .username("new.employee")
+                .build();
+        Mockito.doReturn(Collections.singleton("existing.employee")).when(genericService).findExistingUsernames(Mockito.anyCollection());
+        Mockito.doReturn(employee).when(registerEmployeeRequestToEmployeeConverter).convert(newEmployee);
+        Mockito.doThrow(new ServiceException(StatusConstants.HttpConstants.ROLE_IS_NOT_FOUND)).when(registerEmployeeRequestToEmployeeConverter).convert(unknownRoleEmployee);
+        Mockito.doAnswer(invocation -> {
+            employee.setId(10L);
+            return invocation.getArguments()[0];
+        }).when(genericService).registerAll(Collections.singletonList(employee));
+
+        BulkRegisterEmployeeResponse response = employeeComponent.bulkRegister(new BulkRegisterEmployeeRequest(
+                Arrays.asList(newEmployee, existingEmployee, invalidEmployee, duplicateEmployee, unknownRoleEmployee)));
+
+        Assert.assertEquals(Integer.valueOf(1), response.getRegisteredCount());
+        Assert.assertEquals(5, response.getResults().size());
+        Assert.assertEquals(Long.valueOf(10L), response.getResults().get(0).getId());
+        Assert.assertEquals(StatusConstants.HttpConstants.SUCCESS.getCode(), response.getResults().get(0).getStatus().getCode());
+        Assert.assertEquals(StatusConstants.HttpConstants.USERNAME_IS_ALREADY_EXIST.getCode(), response.getResults().get(1).getStatus().getCode());
+        Assert.assertEquals(StatusConstants.HttpConstants.CUSTOM_FIELD_VALIDATION.getCode(), response.getResults().get(2).getStatus().getCode());
+        Assert.assertEquals(StatusConstants.HttpConstants.USERNAME_IS_ALREADY_EXIST.getCode(), response.getResults().get(3).getStatus().getCode());
+        Assert.assertEquals(StatusConstants.HttpConstants.ROLE_IS_NOT_FOUND.getCode(), response.getResults().get(4).getStatus().getCode());
+        Assert.assertNull(response.getResults().get(4).getId());
+        Mockito.verify(genericService, Mockito.times(1)).findExistingUsernames(Mockito.anyCollection());
+        Mockito.verify(registerEmployeeRequestToEmployeeConverter, Mockito.never()).convert(existingEmployee);
+
+    }
+
+    @Test
+    public void testBulkRegisterWithTooManyEmployees() {
+        ReflectionTestUtils.setField(employeeComponent, "maxBulkRegisterSize", 1);
+
+        expectedException.expect(InvalidRequestException.class);
+        expectedException.expectMessage(StatusConstants.HttpConstants.BULK_REGISTER_LIMIT_EXCEEDED.getDesc());
+
+        employeeComponent.bulkRegister(new BulkRegisterEmployeeRequest(
+                Arrays.asList(registerEmployeeRequest("first"), registerEmployeeRequest("second"))));
+
+    }
+
+    @Test
+    public void testBulkRegisterWithException() {
+        ReflectionTestUtils.setField(employeeComponent, "validator", Validation.buildDefaultValidatorFactory().getValidator());
+        Mockito.doThrow(new RuntimeException("connection refused")).when(genericService).findExistingUsernames(Mockito.anyCollection());
+
+        expectedException.expect(ComponentException.class);
+        expectedException.expectMessage(StatusConstants.HttpConstants.FAILED_TO_BULK_REGISTER_EMPLOYEES.getDesc());
+
+        employeeComponent.bulkRegister(new BulkRegisterEmployeeRequest(Collections.singletonList(registerEmployeeRequest("first"))));
+
+    }
+
+    @Test
+    public void testBulkDeleteWithSuccess() {
+        List<Long> ids = Arrays.asList(1L, 2L);
+        Mockito.doReturn(2).when(genericService).deleteAll(ids, null, "ADMIN_USER");
+
+        BulkDeleteEmployeeResponse response = employeeComponent.bulkDelete(BulkDeleteEmployeeRequest.builder()
+                .ids(ids)
+                .name("")
+                .role("ADMIN_USER")
+                .build());
+
+        Assert.assertEquals(Integer.valueOf(2), response.getDeletedCount());
+        Mockito.verify(genericService, Mockito.times(1)).deleteAll(ids, null, "ADMIN_USER");
+
+    }
+
+    @Test
+    public void testBulkDeleteWithoutCriteria() {
+        expectedException.expect(InvalidRequestException.class);
+        expectedException.expectMessage(StatusConstants.HttpConstants.BULK_DELETE_CRITERIA_REQUIRED.getDesc());
+
+        employeeComponent.bulkDelete(BulkDeleteEmployeeRequest.builder()
+                .ids(Collections.emptyList())
+                .build());
+
+    }
+
+    @Test
+    public void testBulkDeleteWithException() {
+        Mockito.doThrow(new RuntimeException("connection refused")).when(genericService).deleteAll(null, "ross", null);
+
+        expectedException.expect(ComponentException.class);
+        expectedException.expectMessage(StatusConstants.HttpConstants.FAILED_TO_BULK_DELETE_EMPLOYEES.getDesc());
+
+        employeeComponent.bulkDelete(BulkDeleteEmployeeRequest.builder()
+                .name("ross")
+                .build());
 
     }
 
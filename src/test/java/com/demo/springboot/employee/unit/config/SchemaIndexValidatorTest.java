@@ -0,0 +1,63 @@
+package com.demo.springboot.employee.unit.config;
+
+import com.demo.springboot.employee.config.SchemaIndexValidator;
+import org.flywaydb.core.Flyway;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class SchemaIndexValidatorTest {
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    private DriverManagerDataSource dataSource;
+
+    private SchemaIndexValidator schemaIndexValidator;
+
+    @Before
+    public void setup() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:schema-validation;DB_CLOSE_DELAY=-1", "sa", "");
+        Flyway flyway = new Flyway();
+        flyway.setDataSource(dataSource);
+        flyway.migrate();
+        schemaIndexValidator = new SchemaIndexValidator();
+        ReflectionTestUtils.setField(schemaIndexValidator, "datasource", dataSource);
+    }
+
+    @After
+    public void tearDown() {
+        new JdbcTemplate(dataSource).execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    public void testValidateMigratedSchema() {
+        schemaIndexValidator.afterSingletonsInstantiated();
+    }
+
+    @Test
+    public void testValidateWithMissingUsernameIndex() {
+        new JdbcTemplate(dataSource).execute("DROP INDEX ux_employee_username");
+
+        expectedException.expect(IllegalStateException.class);
+        expectedException.expectMessage("Missing unique index ux_employee_username on employee");
+
+        schemaIndexValidator.afterSingletonsInstantiated();
+    }
+
+    @Test
+    public void testValidateWithMissingUserRolePrimaryKey() {
+        new JdbcTemplate(dataSource).execute("ALTER TABLE user_role DROP CONSTRAINT pk_user_role");
+
+        expectedException.expect(IllegalStateException.class);
+        expectedException.expectMessage("Missing primary key (user_id, role_id) on user_role");
+
+        schemaIndexValidator.afterSingletonsInstantiated();
+    }
+
+}
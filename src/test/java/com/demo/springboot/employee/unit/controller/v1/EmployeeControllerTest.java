@@ -3,16 +3,23 @@ package com.demo.springboot.employee.unit.controller.v1;
 import com.demo.springboot.employee.component.EmployeeComponent;
 import com.demo.springboot.employee.constant.StatusConstants;
 import com.demo.springboot.employee.controller.v1.EmployeeController;
-import com.demo.springboot.employee.domain.Employee;
-import com.demo.springboot.employee.domain.Role;
+import com.demo.springboot.employee.domain.EmployeeView;
+import com.demo.springboot.employee.domain.RoleView;
 import com.demo.springboot.employee.exception.ComponentException;
+import com.demo.springboot.employee.exception.InvalidRequestException;
 import com.demo.springboot.employee.exception.ServiceException;
+import com.demo.springboot.employee.model.request.BulkDeleteEmployeeRequest;
+import com.demo.springboot.employee.model.request.BulkRegisterEmployeeRequest;
+import com.demo.springboot.employee.model.request.EmployeeSearchRequest;
 import com.demo.springboot.employee.model.request.RegisterEmployeeRequest;
 import com.demo.springboot.employee.model.request.RoleRequest;
 import com.demo.springboot.employee.model.request.UpdateEmployeeRequest;
+import com.demo.springboot.employee.model.response.BulkDeleteEmployeeResponse;
+import com.demo.springboot.employee.model.response.BulkRegisterEmployeeResponse;
 import com.demo.springboot.employee.model.response.EmployeeListResponse;
 import com.demo.springboot.employee.model.response.EmployeeResponse;
 import com.demo.springboot.employee.model.response.Response;
+import com.demo.springboot.employee.util.ETagUtils;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -20,10 +27,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.mock.web.MockHttpServletResponse;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -37,27 +46,9 @@ public class EmployeeControllerTest {
 
     @Test
     public void testGetAllEmployeesWithSuccess() {
-        List<Role> role = new ArrayList<Role>() {
-            {
-                add(new Role().builder()
-                        .roleName("ADMIN")
-                        .description("Desc")
-                        .id(1L)
-                        .build()
-                );
-            }
-        };
-        Employee employee = Employee.builder()
-                .activeStatus("active")
-                .firstName("first name")
-                .lastName("last name")
-                .password("password")
-                .username("username")
-                .id(1L)
-                .roles(role)
-                .deletedDate(null)
-                .build();
-        List<Employee> employeeList = new ArrayList<>();
+        EmployeeView employee = new EmployeeView(1L, "username", "first name", "last name", "active", null, null,
+                Collections.singletonList(new RoleView(1L, "ADMIN", "Desc")), 1L);
+        List<EmployeeView> employeeList = new ArrayList<>();
         employeeList.add(employee);
 
         MockHttpServletResponse httpResponse = new MockHttpServletResponse();
@@ -65,9 +56,9 @@ public class EmployeeControllerTest {
                 .employeeList(employeeList)
                 .build();
 
-        Mockito.doReturn(employeeListResponse).when(employeeComponent).findAllEmployees();
+        Mockito.doReturn(employeeListResponse).when(employeeComponent).findAllEmployees(Mockito.any(EmployeeSearchRequest.class));
 
-        Response<EmployeeListResponse> response = employeeController.getAllEmployees(httpResponse);
+        Response<EmployeeListResponse> response = employeeController.getAllEmployees(new EmployeeSearchRequest(), null, httpResponse);
 
         // then
         Assert.assertEquals(employeeListResponse, response.getData());
@@ -77,14 +68,51 @@ public class EmployeeControllerTest {
 
     }
 
+    @Test
+    public void testGetAllEmployeesWithMatchingETag() {
+
+        MockHttpServletResponse httpResponse = new MockHttpServletResponse();
+
+        Mockito.doReturn("\"2-1f\"").when(employeeComponent).findAllEmployeesETag(Mockito.any(EmployeeSearchRequest.class));
+
+        Response<EmployeeListResponse> response = employeeController.getAllEmployees(new EmployeeSearchRequest(), "\"1-aa\", \"2-1f\"", httpResponse);
+
+        // then
+        Assert.assertNull(response);
+        Assert.assertEquals(HttpStatus.NOT_MODIFIED.value(), httpResponse.getStatus());
+        Assert.assertEquals("\"2-1f\"", httpResponse.getHeader(HttpHeaders.ETAG));
+        Mockito.verify(employeeComponent, Mockito.never()).findAllEmployees(Mockito.any(EmployeeSearchRequest.class));
+
+    }
+
+    @Test
+    public void testGetAllEmployeesWithChangedETag() {
+
+        MockHttpServletResponse httpResponse = new MockHttpServletResponse();
+        EmployeeListResponse employeeListResponse = EmployeeListResponse.builder()
+                .employeeList(Collections.singletonList(new EmployeeView(1L, "username", "first name", "last name", "active", null, null, 3L)))
+                .build();
+
+        Mockito.doReturn("\"1-1f\"").when(employeeComponent).findAllEmployeesETag(Mockito.any(EmployeeSearchRequest.class));
+        Mockito.doReturn(employeeListResponse).when(employeeComponent).findAllEmployees(Mockito.any(EmployeeSearchRequest.class));
+
+        Response<EmployeeListResponse> response = employeeController.getAllEmployees(new EmployeeSearchRequest(), "\"1-aa\"", httpResponse);
+
+        // then
+        Assert.assertEquals(employeeListResponse, response.getData());
+        Assert.assertEquals(HttpStatus.OK.value(), httpResponse.getStatus());
+        Assert.assertEquals(ETagUtils.ofPage(employeeListResponse.getEmployeeList(), false), httpResponse.getHeader(HttpHeaders.ETAG));
+
+    }
+
     @Test
     public void testGetAllEmployeesWithServiceException() {
 
         MockHttpServletResponse httpResponse = new MockHttpServletResponse();
 
-        Mockito.doThrow(new ComponentException(StatusConstants.HttpConstants.CAN_NOT_GET_ALL_EMPLOYEE_LIST)).when(employeeComponent).findAllEmployees();
+        Mockito.doThrow(new ComponentException(StatusConstants.HttpConstants.CAN_NOT_GET_ALL_EMPLOYEE_LIST)).when(employeeComponent).findAllEmployees(Mockito.any(EmployeeSearchRequest.class));
 
-        Response<EmployeeListResponse> response = employeeController.getAllEmployees(httpResponse);
+        Response<EmployeeListResponse> response = employeeController.getAllEmployees(new EmployeeSearchRequest(), null, httpResponse);
 
         // then
         Assert.assertNull(response.getData());
@@ -94,14 +122,31 @@ public class EmployeeControllerTest {
 
     }
 
+    @Test
+    public void testGetAllEmployeesWithInvalidRequestException() {
+
+        MockHttpServletResponse httpResponse = new MockHttpServletResponse();
+
+        Mockito.doThrow(new InvalidRequestException(StatusConstants.HttpConstants.INVALID_PAGINATION_PARAMETER)).when(employeeComponent).findAllEmployees(Mockito.any(EmployeeSearchRequest.class));
+
+        Response<EmployeeListResponse> response = employeeController.getAllEmployees(new EmployeeSearchRequest(), null, httpResponse);
+
+        // then
+        Assert.assertNull(response.getData());
+        Assert.assertEquals(HttpStatus.BAD_REQUEST.value(), httpResponse.getStatus());
+        Assert.assertEquals(StatusConstants.HttpConstants.INVALID_PAGINATION_PARAMETER.getCode(), response.getStatus().getCode());
+        Assert.assertEquals(StatusConstants.HttpConstants.INVALID_PAGINATION_PARAMETER.getDesc(), response.getStatus().getMessage());
+
+    }
+
     @Test
     public void testGetAllEmployeesWithException() {
 
         MockHttpServletResponse httpResponse = new MockHttpServletResponse();
 
-        Mockito.doThrow(Exception.class).when(employeeComponent).findAllEmployees();
+        Mockito.doThrow(Exception.class).when(employeeComponent).findAllEmployees(Mockito.any(EmployeeSearchRequest.class));
 
-        Response<EmployeeListResponse> response = employeeController.getAllEmployees(httpResponse);
+        Response<EmployeeListResponse> response = employeeController.getAllEmployees(new EmployeeSearchRequest(), null, httpResponse);
 
         // then
         Assert.assertNull(response.getData());
@@ -114,26 +159,8 @@ public class EmployeeControllerTest {
     @Test
     public void testGetEmployeeByIdWithSuccess() {
         Long id = 1L;
-        List<Role> role = new ArrayList<Role>() {
-            {
-                add(new Role().builder()
-                        .roleName("ADMIN")
-                        .description("Desc")
-                        .id(1L)
-                        .build()
-                );
-            }
-        };
-        Employee employee = Employee.builder()
-                .activeStatus("active")
-                .firstName("first name")
-                .lastName("last name")
-                .password("password")
-                .username("username")
-                .id(1L)
-                .roles(role)
-                .deletedDate(null)
-                .build();
+        EmployeeView employee = new EmployeeView(1L, "username", "first name", "last name", "active", null, null,
+                Collections.singletonList(new RoleView(1L, "ADMIN", "Desc")), 1L);
 
         MockHttpServletResponse httpResponse = new MockHttpServletResponse();
         EmployeeResponse employeeResponse = EmployeeResponse.builder()
@@ -142,7 +169,7 @@ public class EmployeeControllerTest {
 
         Mockito.doReturn(employeeResponse).when(employeeComponent).findById(id);
 
-        Response<EmployeeResponse> response = employeeController.getEmployeeById(id, httpResponse);
+        Response<EmployeeResponse> response = employeeController.getEmployeeById(id, null, httpResponse);
 
         // then
         Assert.assertEquals(employeeResponse, response.getData());
@@ -152,6 +179,45 @@ public class EmployeeControllerTest {
 
     }
 
+    @Test
+    public void testGetEmployeeByIdWithMatchingETag() {
+        Long id = 1L;
+        EmployeeView employee = new EmployeeView(1L, "username", "first name", "last name", "active", null, null, 4L);
+
+        MockHttpServletResponse httpResponse = new MockHttpServletResponse();
+
+        Mockito.doReturn(EmployeeResponse.builder().employee(employee).build()).when(employeeComponent).findById(id);
+
+        Response<EmployeeResponse> response = employeeController.getEmployeeById(id, "W/\"1-4\"", httpResponse);
+
+        // then
+        Assert.assertNull(response);
+        Assert.assertEquals(HttpStatus.NOT_MODIFIED.value(), httpResponse.getStatus());
+        Assert.assertEquals("\"1-4\"", httpResponse.getHeader(HttpHeaders.ETAG));
+
+    }
+
+    @Test
+    public void testGetEmployeeByIdWithChangedETag() {
+        Long id = 1L;
+        EmployeeView employee = new EmployeeView(1L, "username", "first name", "last name", "active", null, null, 5L);
+
+        MockHttpServletResponse httpResponse = new MockHttpServletResponse();
+        EmployeeResponse employeeResponse = EmployeeResponse.builder()
+                .employee(employee)
+                .build();
+
+        Mockito.doReturn(employeeResponse).when(employeeComponent).findById(id);
+
+        Response<EmployeeResponse> response = employeeController.getEmployeeById(id, "\"1-4\"", httpResponse);
+
+        // then
+        Assert.assertEquals(employeeResponse, response.getData());
+        Assert.assertEquals(HttpStatus.OK.value(), httpResponse.getStatus());
+        Assert.assertEquals("\"1-5\"", httpResponse.getHeader(HttpHeaders.ETAG));
+
+    }
+
     @Test
     public void testGetEmployeeByIdWithComponentException() {
 
@@ -161,7 +227,7 @@ public class EmployeeControllerTest {
 
         Mockito.doThrow(new ComponentException(StatusConstants.HttpConstants.EMPLOYEE_ID_IS_NOT_FOUND)).when(employeeComponent).findById(id);
 
-        Response<EmployeeResponse> response = employeeController.getEmployeeById(id, httpResponse);
+        Response<EmployeeResponse> response = employeeController.getEmployeeById(id, null, httpResponse);
 
         // then
         Assert.assertNull(response.getData());
@@ -180,7 +246,7 @@ public class EmployeeControllerTest {
         Mockito.doThrow(Exception.class).when(employeeComponent).findById(id);
         ;
 
-        Response<EmployeeResponse> response = employeeController.getEmployeeById(id, httpResponse);
+        Response<EmployeeResponse> response = employeeController.getEmployeeById(id, null, httpResponse);
 
         // then
         Assert.assertNull(response.getData());
@@ -289,6 +355,27 @@ public class EmployeeControllerTest {
 
     }
 
+    @Test
+    public void testRegisterEmployeeWithUnknownRole() {
+        RegisterEmployeeRequest registerEmployeeRequest = RegisterEmployeeRequest.builder()
+                .firstName("first name")
+                .lastName("last name")
+                .password("password")
+                .username("username")
+                .roles(Collections.singletonList(RoleRequest.builder().roleName("UNKNOWN").build()))
+                .build();
+
+        Mockito.doThrow(ServiceException.of(StatusConstants.HttpConstants.ROLE_IS_NOT_FOUND)).when(employeeComponent).register(registerEmployeeRequest);
+        MockHttpServletResponse httpResponse = new MockHttpServletResponse();
+
+        Response<?> response = employeeController.registerEmployee(registerEmployeeRequest, httpResponse);
+
+        // then
+        Assert.assertEquals(HttpStatus.BAD_REQUEST.value(), httpResponse.getStatus());
+        Assert.assertEquals(StatusConstants.HttpConstants.ROLE_IS_NOT_FOUND.getCode(), response.getStatus().getCode());
+
+    }
+
     @Test
     public void testRegisterEmployeeWithException() {
         List<RoleRequest> roleRequests = new ArrayList<RoleRequest>() {
@@ -342,10 +429,10 @@ public class EmployeeControllerTest {
                 .roles(roleRequests)
                 .build();
 
-        Mockito.doNothing().when(employeeComponent).update(updateEmployeeRequest);
+        Mockito.doNothing().when(employeeComponent).update(updateEmployeeRequest, null);
         MockHttpServletResponse httpResponse = new MockHttpServletResponse();
 
-        Response<?> response = employeeController.updateEmployee(updateEmployeeRequest, httpResponse);
+        Response<?> response = employeeController.updateEmployee(updateEmployeeRequest, null, httpResponse);
 
         // then
         Assert.assertNull(response.getData());
@@ -375,10 +462,10 @@ public class EmployeeControllerTest {
                 .roles(roleRequests)
                 .build();
 
-        Mockito.doThrow(new ComponentException(StatusConstants.HttpConstants.FAILED_TO_UPDATE_EMPLOYEE)).when(employeeComponent).update(updateEmployeeRequest);
+        Mockito.doThrow(new ComponentException(StatusConstants.HttpConstants.FAILED_TO_UPDATE_EMPLOYEE)).when(employeeComponent).update(updateEmployeeRequest, null);
         MockHttpServletResponse httpResponse = new MockHttpServletResponse();
 
-        Response<?> response = employeeController.updateEmployee(updateEmployeeRequest, httpResponse);
+        Response<?> response = employeeController.updateEmployee(updateEmployeeRequest, null, httpResponse);
 
         // then
         Assert.assertNull(response.getData());
@@ -408,10 +495,10 @@ public class EmployeeControllerTest {
                 .roles(roleRequests)
                 .build();
 
-        Mockito.doThrow(new ServiceException(StatusConstants.HttpConstants.EMPLOYEE_ID_IS_NOT_FOUND)).when(employeeComponent).update(updateEmployeeRequest);
+        Mockito.doThrow(new ServiceException(StatusConstants.HttpConstants.EMPLOYEE_ID_IS_NOT_FOUND)).when(employeeComponent).update(updateEmployeeRequest, null);
         MockHttpServletResponse httpResponse = new MockHttpServletResponse();
 
-        Response<?> response = employeeController.updateEmployee(updateEmployeeRequest, httpResponse);
+        Response<?> response = employeeController.updateEmployee(updateEmployeeRequest, null, httpResponse);
 
         // then
         Assert.assertNull(response.getData());
@@ -441,10 +528,10 @@ public class EmployeeControllerTest {
                 .roles(roleRequests)
                 .build();
 
-        Mockito.doThrow(Exception.class).when(employeeComponent).update(updateEmployeeRequest);
+        Mockito.doThrow(Exception.class).when(employeeComponent).update(updateEmployeeRequest, null);
         MockHttpServletResponse httpResponse = new MockHttpServletResponse();
 
-        Response<?> response = employeeController.updateEmployee(updateEmployeeRequest, httpResponse);
+        Response<?> response = employeeController.updateEmployee(updateEmployeeRequest, null, httpResponse);
 
         // then
         Assert.assertNull(response.getData());
@@ -454,15 +541,84 @@ public class EmployeeControllerTest {
 
     }
 
+    @Test
+    public void testUpdateEmployeeWithUnknownRole() {
+        UpdateEmployeeRequest updateEmployeeRequest = UpdateEmployeeRequest.builder()
+                .id(1L)
+                .roles(Collections.singletonList(RoleRequest.builder().roleName("UNKNOWN").build()))
+                .build();
+
+        Mockito.doThrow(ServiceException.of(StatusConstants.HttpConstants.ROLE_IS_NOT_FOUND)).when(employeeComponent).update(updateEmployeeRequest, null);
+        MockHttpServletResponse httpResponse = new MockHttpServletResponse();
+
+        Response<?> response = employeeController.updateEmployee(updateEmployeeRequest, null, httpResponse);
+
+        // then
+        Assert.assertEquals(HttpStatus.BAD_REQUEST.value(), httpResponse.getStatus());
+        Assert.assertEquals(StatusConstants.HttpConstants.ROLE_IS_NOT_FOUND.getCode(), response.getStatus().getCode());
+
+    }
+
+    @Test
+    public void testUpdateEmployeeWithStaleIfMatch() {
+        UpdateEmployeeRequest updateEmployeeRequest = UpdateEmployeeRequest.builder()
+                .id(1L)
+                .firstName("first name")
+                .build();
+
+        Mockito.doThrow(ServiceException.of(StatusConstants.HttpConstants.EMPLOYEE_VERSION_CONFLICT)).when(employeeComponent).update(updateEmployeeRequest, 2L);
+        MockHttpServletResponse httpResponse = new MockHttpServletResponse();
+
+        Response<?> response = employeeController.updateEmployee(updateEmployeeRequest, "\"1-2\"", httpResponse);
+
+        // then
+        Assert.assertEquals(HttpStatus.PRECONDITION_FAILED.value(), httpResponse.getStatus());
+        Assert.assertEquals(StatusConstants.HttpConstants.EMPLOYEE_VERSION_CONFLICT.getCode(), response.getStatus().getCode());
+
+    }
+
+    @Test
+    public void testUpdateEmployeeLosingConcurrentUpdate() {
+        UpdateEmployeeRequest updateEmployeeRequest = UpdateEmployeeRequest.builder()
+                .id(1L)
+                .firstName("first name")
+                .build();
+
+        Mockito.doThrow(ServiceException.of(StatusConstants.HttpConstants.EMPLOYEE_VERSION_CONFLICT)).when(employeeComponent).update(updateEmployeeRequest, null);
+        MockHttpServletResponse httpResponse = new MockHttpServletResponse();
+
+        Response<?> response = employeeController.updateEmployee(updateEmployeeRequest, null, httpResponse);
+
+        // then
+        Assert.assertEquals(HttpStatus.CONFLICT.value(), httpResponse.getStatus());
+        Assert.assertEquals(StatusConstants.HttpConstants.EMPLOYEE_VERSION_CONFLICT.getCode(), response.getStatus().getCode());
+
+    }
+
+    @Test
+    public void testDeleteEmployeeWithIfMatchOfAnotherEmployee() {
+        Long id = 1L;
+
+        Mockito.doThrow(ServiceException.of(StatusConstants.HttpConstants.EMPLOYEE_VERSION_CONFLICT)).when(employeeComponent).delete(id, -1L);
+        MockHttpServletResponse httpResponse = new MockHttpServletResponse();
+
+        Response<?> response = employeeController.deleteEmployee(id, "\"2-0\"", httpResponse);
+
+        // then
+        Assert.assertEquals(HttpStatus.PRECONDITION_FAILED.value(), httpResponse.getStatus());
+        Assert.assertEquals(StatusConstants.HttpConstants.EMPLOYEE_VERSION_CONFLICT.getCode(), response.getStatus().getCode());
+
+    }
+
     @Test
     public void testDeleteEmployeeWithSuccess() {
 
         Long id = 1L;
 
-        Mockito.doNothing().when(employeeComponent).delete(id);
+        Mockito.doNothing().when(employeeComponent).delete(id, null);
         MockHttpServletResponse httpResponse = new MockHttpServletResponse();
 
-        Response<?> response = employeeController.deleteEmployee(id, httpResponse);
+        Response<?> response = employeeController.deleteEmployee(id, null, httpResponse);
 
         // then
         Assert.assertNull(response.getData());
@@ -477,10 +633,10 @@ public class EmployeeControllerTest {
 
         Long id = 1L;
 
-        Mockito.doThrow(new ComponentException(StatusConstants.HttpConstants.FAILED_TO_DELETE_EMPLOYEE)).when(employeeComponent).delete(id);
+        Mockito.doThrow(new ComponentException(StatusConstants.HttpConstants.FAILED_TO_DELETE_EMPLOYEE)).when(employeeComponent).delete(id, null);
         MockHttpServletResponse httpResponse = new MockHttpServletResponse();
 
-        Response<?> response = employeeController.deleteEmployee(id, httpResponse);
+        Response<?> response = employeeController.deleteEmployee(id, null, httpResponse);
 
         // then
         Assert.assertNull(response.getData());
@@ -495,10 +651,10 @@ public class EmployeeControllerTest {
 
         Long id = 1L;
 
-        Mockito.doThrow(new ServiceException(StatusConstants.HttpConstants.EMPLOYEE_ID_IS_NOT_FOUND)).when(employeeComponent).delete(id);
+        Mockito.doThrow(new ServiceException(StatusConstants.HttpConstants.EMPLOYEE_ID_IS_NOT_FOUND)).when(employeeComponent).delete(id, null);
         MockHttpServletResponse httpResponse = new MockHttpServletResponse();
 
-        Response<?> response = employeeController.deleteEmployee(id, httpResponse);
+        Response<?> response = employeeController.deleteEmployee(id, null, httpResponse);
 
         // then
         Assert.assertNull(response.getData());
@@ -513,10 +669,10 @@ public class EmployeeControllerTest {
 
         Long id = 1L;
 
-        Mockito.doThrow(Exception.class).when(employeeComponent).delete(id);
+        Mockito.doThrow(Exception.class).when(employeeComponent).delete(id, null);
         MockHttpServletResponse httpResponse = new MockHttpServletResponse();
 
-        Response<?> response = employeeController.deleteEmployee(id, httpResponse);
+        Response<?> response = employeeController.deleteEmployee(id, null, httpResponse);
 
         // then
         Assert.assertNull(response.getData());
@@ -526,4 +682,80 @@ public class EmployeeControllerTest {
 
     }
 
+    @Test
+    public void testBulkRegisterEmployeesWithSuccess() {
+        MockHttpServletResponse httpResponse = new MockHttpServletResponse();
+        BulkRegisterEmployeeRequest bulkRegisterEmployeeRequest = new BulkRegisterEmployeeRequest(
+                Collections.singletonList(RegisterEmployeeRequest.builder().username("first.last").build()));
+        BulkRegisterEmployeeResponse bulkRegisterEmployeeResponse = BulkRegisterEmployeeResponse.builder()
+                .registeredCount(1)
+                .build();
+
+        Mockito.doReturn(bulkRegisterEmployeeResponse).when(employeeComponent).bulkRegister(bulkRegisterEmployeeRequest);
+
+        Response<BulkRegisterEmployeeResponse> response = employeeController.bulkRegisterEmployees(bulkRegisterEmployeeRequest, httpResponse);
+
+        Assert.assertEquals(StatusConstants.HttpConstants.SUCCESS.getCode(), response.getStatus().getCode());
+        Assert.assertEquals(Integer.valueOf(1), response.getData().getRegisteredCount());
+
+    }
+
+    @Test
+    public void testBulkRegisterEmployeesWithInvalidRequestException() {
+        MockHttpServletResponse httpResponse = new MockHttpServletResponse();
+        BulkRegisterEmployeeRequest bulkRegisterEmployeeRequest = new BulkRegisterEmployeeRequest(
+                Collections.singletonList(RegisterEmployeeRequest.builder().username("first.last").build()));
+
+        Mockito.doThrow(new InvalidRequestException(StatusConstants.HttpConstants.BULK_REGISTER_LIMIT_EXCEEDED)).when(employeeComponent).bulkRegister(bulkRegisterEmployeeRequest);
+
+        Response<BulkRegisterEmployeeResponse> response = employeeController.bulkRegisterEmployees(bulkRegisterEmployeeRequest, httpResponse);
+
+        Assert.assertEquals(StatusConstants.HttpConstants.BULK_REGISTER_LIMIT_EXCEEDED.getCode(), response.getStatus().getCode());
+        Assert.assertEquals(HttpStatus.BAD_REQUEST.value(), httpResponse.getStatus());
+
+    }
+
+    @Test
+    public void testBulkRegisterEmployeesWithComponentException() {
+        MockHttpServletResponse httpResponse = new MockHttpServletResponse();
+        BulkRegisterEmployeeRequest bulkRegisterEmployeeRequest = new BulkRegisterEmployeeRequest(
+                Collections.singletonList(RegisterEmployeeRequest.builder().username("first.last").build()));
+
+        Mockito.doThrow(new ComponentException(StatusConstants.HttpConstants.FAILED_TO_BULK_REGISTER_EMPLOYEES)).when(employeeComponent).bulkRegister(bulkRegisterEmployeeRequest);
+
+        Response<BulkRegisterEmployeeResponse> response = employeeController.bulkRegisterEmployees(bulkRegisterEmployeeRequest, httpResponse);
+
+        Assert.assertEquals(StatusConstants.HttpConstants.FAILED_TO_BULK_REGISTER_EMPLOYEES.getCode(), response.getStatus().getCode());
+        Assert.assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.value(), httpResponse.getStatus());
+
+    }
+
+    @Test
+    public void testBulkDeleteEmployeesWithSuccess() {
+        MockHttpServletResponse httpResponse = new MockHttpServletResponse();
+        BulkDeleteEmployeeRequest bulkDeleteEmployeeRequest = BulkDeleteEmployeeRequest.builder()
+                .role("STANDARD_USER")
+                .build();
+        Mockito.doReturn(new BulkDeleteEmployeeResponse(3)).when(employeeComponent).bulkDelete(bulkDeleteEmployeeRequest);
+
+        Response<BulkDeleteEmployeeResponse> response = employeeController.bulkDeleteEmployees(bulkDeleteEmployeeRequest, httpResponse);
+
+        Assert.assertEquals(StatusConstants.HttpConstants.SUCCESS.getCode(), response.getStatus().getCode());
+        Assert.assertEquals(Integer.valueOf(3), response.getData().getDeletedCount());
+
+    }
+
+    @Test
+    public void testBulkDeleteEmployeesWithInvalidRequestException() {
+        MockHttpServletResponse httpResponse = new MockHttpServletResponse();
+        BulkDeleteEmployeeRequest bulkDeleteEmployeeRequest = new BulkDeleteEmployeeRequest();
+        Mockito.doThrow(new InvalidRequestException(StatusConstants.HttpConstants.BULK_DELETE_CRITERIA_REQUIRED)).when(employeeComponent).bulkDelete(bulkDeleteEmployeeRequest);
+
+        Response<BulkDeleteEmployeeResponse> response = employeeController.bulkDeleteEmployees(bulkDeleteEmployeeRequest, httpResponse);
+
+        Assert.assertEquals(StatusConstants.HttpConstants.BULK_DELETE_CRITERIA_REQUIRED.getCode(), response.getStatus().getCode());
+        Assert.assertEquals(HttpStatus.BAD_REQUEST.value(), httpResponse.getStatus());
+
+    }
+
 }
@@ -0,0 +1,77 @@
+package com.demo.springboot.employee.unit.converter;
+
+import com.demo.springboot.employee.constant.StatusConstants;
+import com.demo.springboot.employee.converter.ConstantResponseHttpMessageConverter;
+import com.demo.springboot.employee.exception.InvalidRequestException;
+import com.demo.springboot.employee.model.Status;
+import com.demo.springboot.employee.model.response.ConstantResponse;
+import com.demo.springboot.employee.model.response.Response;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+public class ConstantResponseHttpMessageConverterTest {
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    private ObjectMapper objectMapper;
+
+    private ConstantResponseHttpMessageConverter converter;
+
+    @Before
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        converter = new ConstantResponseHttpMessageConverter(objectMapper);
+    }
+
+    @Test
+    public void testWritesTheSameBodyAsJackson() throws Exception {
+        for (StatusConstants.HttpConstants httpConstants : StatusConstants.HttpConstants.values()) {
+            MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+            Response<Object> response = Response.of(httpConstants);
+
+            converter.write((ConstantResponse<?>) response, MediaType.APPLICATION_JSON_UTF8, outputMessage);
+
+            Assert.assertEquals(objectMapper.writeValueAsString(new Response<>(new Status(httpConstants), null)), outputMessage.getBodyAsString());
+            Assert.assertEquals(outputMessage.getBodyAsBytes().length, outputMessage.getHeaders().getContentLength());
+        }
+    }
+
+    @Test
+    public void testOnlyWritesConstantResponses() {
+        Assert.assertTrue(converter.canWrite(ConstantResponse.class, MediaType.APPLICATION_JSON));
+        Assert.assertFalse(converter.canWrite(Response.class, MediaType.APPLICATION_JSON));
+        Assert.assertFalse(converter.canRead(ConstantResponse.class, MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    public void testConstantResponsesAreShared() {
+        Assert.assertSame(Response.of(StatusConstants.HttpConstants.SUCCESS), Response.of(StatusConstants.HttpConstants.SUCCESS));
+        Assert.assertSame(Status.of(StatusConstants.HttpConstants.SUCCESS), Response.of(StatusConstants.HttpConstants.SUCCESS).getStatus());
+        Assert.assertNull(Response.of(StatusConstants.HttpConstants.SUCCESS).getData());
+    }
+
+    @Test
+    public void testConstantResponseCanNotBeModified() {
+        expectedException.expect(UnsupportedOperationException.class);
+
+        Response.of(StatusConstants.HttpConstants.SUCCESS).setData("data");
+    }
+
+    @Test
+    public void testInvalidRequestMessageDoesNotChangeTheConstant() {
+        InvalidRequestException exception = new InvalidRequestException(StatusConstants.HttpConstants.CUSTOM_FIELD_VALIDATION, "first_name is required");
+
+        Assert.assertEquals("first_name is required", exception.getMessage());
+        Assert.assertEquals("Custom field validation error", StatusConstants.HttpConstants.CUSTOM_FIELD_VALIDATION.getDesc());
+        Assert.assertEquals("Custom field validation error", Status.of(StatusConstants.HttpConstants.CUSTOM_FIELD_VALIDATION).getMessage());
+    }
+
+}
@@ -1,17 +1,30 @@
 package com.demo.springboot.employee.unit.converter;
 
+import com.demo.springboot.employee.constant.StatusConstants;
 import com.demo.springboot.employee.converter.RoleRequestToRoleEntityConverter;
 import com.demo.springboot.employee.domain.Role;
+import com.demo.springboot.employee.exception.ServiceException;
 import com.demo.springboot.employee.model.request.RoleRequest;
+import com.demo.springboot.employee.service.impl.RoleServiceImpl;
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
 
 @RunWith(MockitoJUnitRunner.class)
 public class RoleRequestToRoleEntityConverterTest {
 
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    @Mock
+    private RoleServiceImpl roleServiceImpl;
+
     @InjectMocks
     private RoleRequestToRoleEntityConverter roleRequestToRoleEntityConverter;
 
@@ -21,11 +34,33 @@ public class RoleRequestToRoleEntityConverterTest {
                 .roleName("ADMIN")
                 .description("Desc")
                 .build();
+        Role existingRole = new Role().builder()
+                .id(1L)
+                .roleName("ADMIN")
+                .description("Desc")
+                .build();
+        Mockito.doReturn(existingRole).when(roleServiceImpl).findByRoleName("ADMIN");
+
         Role role = roleRequestToRoleEntityConverter.convert(roleRequest);
 
+        Assert.assertSame(existingRole, role);
         Assert.assertEquals("ADMIN", role.getRoleName());
         Assert.assertEquals("Desc", role.getDescription());
-        Assert.assertNull(role.getId());
+        Assert.assertEquals(Long.valueOf(1L), role.getId());
+
+    }
+
+    @Test
+    public void testConvertWithUnknownRole() {
+        RoleRequest roleRequest = new RoleRequest().builder()
+                .roleName("UNKNOWN")
+                .build();
+        Mockito.doThrow(new ServiceException(StatusConstants.HttpConstants.ROLE_IS_NOT_FOUND)).when(roleServiceImpl).findByRoleName("UNKNOWN");
+
+        expectedException.expect(ServiceException.class);
+        expectedException.expectMessage(StatusConstants.HttpConstants.ROLE_IS_NOT_FOUND.getDesc());
+
+        roleRequestToRoleEntityConverter.convert(roleRequest);
 
     }
 
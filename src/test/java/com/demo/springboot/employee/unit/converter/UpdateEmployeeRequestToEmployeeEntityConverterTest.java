@@ -69,4 +69,22 @@ public class UpdateEmployeeRequestToEmployeeEntityConverterTest {
 
     }
 
+    @Test
+    public void testConvertWithoutPasswordAndRoles() {
+        UpdateEmployeeRequest updateEmployeeRequest = UpdateEmployeeRequest.builder()
+                .id(1L)
+                .firstName("first name")
+                .build();
+
+        Employee employee = updateEmployeeRequestToEmployeeEntityConverter.convert(updateEmployeeRequest);
+
+        Assert.assertEquals(Long.valueOf(1L), employee.getId());
+        Assert.assertEquals("first name", employee.getFirstName());
+        Assert.assertNull(employee.getPassword());
+        Assert.assertNull(employee.getRoles());
+        Assert.assertNull(employee.getActiveStatus());
+        Mockito.verify(passwordEncoder, Mockito.never()).encode(Mockito.any(CharSequence.class));
+
+    }
+
 }
@@ -0,0 +1,40 @@
+package com.demo.springboot.employee.unit.exception;
+
+import com.demo.springboot.employee.constant.StatusConstants;
+import com.demo.springboot.employee.exception.ComponentException;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ComponentExceptionTest {
+
+    @Test
+    public void testExpectedStatusIsSharedAndStackless() {
+        ComponentException exception = ComponentException.of(StatusConstants.HttpConstants.EMPLOYEE_ID_IS_NOT_FOUND);
+
+        Assert.assertSame(exception, ComponentException.of(StatusConstants.HttpConstants.EMPLOYEE_ID_IS_NOT_FOUND));
+        Assert.assertEquals(StatusConstants.HttpConstants.EMPLOYEE_ID_IS_NOT_FOUND, exception.getStatus());
+        Assert.assertEquals(StatusConstants.HttpConstants.EMPLOYEE_ID_IS_NOT_FOUND.getDesc(), exception.getMessage());
+        Assert.assertEquals(0, exception.getStackTrace().length);
+        Assert.assertEquals(0, new ComponentException(StatusConstants.HttpConstants.USERNAME_IS_ALREADY_EXIST).getStackTrace().length);
+    }
+
+    @Test
+    public void testSharedInstanceStaysImmutable() {
+        ComponentException exception = ComponentException.of(StatusConstants.HttpConstants.USERNAME_IS_ALREADY_EXIST);
+
+        exception.addSuppressed(new IllegalStateException());
+        exception.fillInStackTrace();
+
+        Assert.assertEquals(0, exception.getSuppressed().length);
+        Assert.assertEquals(0, exception.getStackTrace().length);
+    }
+
+    @Test
+    public void testUnexpectedStatusKeepsItsStackTrace() {
+        ComponentException exception = ComponentException.of(StatusConstants.HttpConstants.INTERNAL_SERVER_ERROR);
+
+        Assert.assertNotSame(exception, ComponentException.of(StatusConstants.HttpConstants.INTERNAL_SERVER_ERROR));
+        Assert.assertTrue(exception.getStackTrace().length > 0);
+    }
+
+}
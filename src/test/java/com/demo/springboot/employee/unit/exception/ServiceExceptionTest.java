@@ -0,0 +1,40 @@
+package com.demo.springboot.employee.unit.exception;
+
+import com.demo.springboot.employee.constant.StatusConstants;
+import com.demo.springboot.employee.exception.ServiceException;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ServiceExceptionTest {
+
+    @Test
+    public void testExpectedStatusIsSharedAndStackless() {
+        ServiceException exception = ServiceException.of(StatusConstants.HttpConstants.EMPLOYEE_ID_IS_NOT_FOUND);
+
+        Assert.assertSame(exception, ServiceException.of(StatusConstants.HttpConstants.EMPLOYEE_ID_IS_NOT_FOUND));
+        Assert.assertEquals(StatusConstants.HttpConstants.EMPLOYEE_ID_IS_NOT_FOUND, exception.getStatus());
+        Assert.assertEquals(StatusConstants.HttpConstants.EMPLOYEE_ID_IS_NOT_FOUND.getDesc(), exception.getMessage());
+        Assert.assertEquals(0, exception.getStackTrace().length);
+        Assert.assertEquals(0, new ServiceException(StatusConstants.HttpConstants.USERNAME_IS_ALREADY_EXIST).getStackTrace().length);
+    }
+
+    @Test
+    public void testSharedInstanceStaysImmutable() {
+        ServiceException exception = ServiceException.of(StatusConstants.HttpConstants.USERNAME_IS_ALREADY_EXIST);
+
+        exception.addSuppressed(new IllegalStateException());
+        exception.fillInStackTrace();
+
+        Assert.assertEquals(0, exception.getSuppressed().length);
+        Assert.assertEquals(0, exception.getStackTrace().length);
+    }
+
+    @Test
+    public void testUnexpectedStatusKeepsItsStackTrace() {
+        ServiceException exception = ServiceException.of(StatusConstants.HttpConstants.INTERNAL_SERVER_ERROR);
+
+        Assert.assertNotSame(exception, ServiceException.of(StatusConstants.HttpConstants.INTERNAL_SERVER_ERROR));
+        Assert.assertTrue(exception.getStackTrace().length > 0);
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.demo.springboot.employee.unit.filter;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.demo.springboot.employee.filter.AccessLogFilter;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+public class AccessLogFilterTest {
+
+    private final AccessLogFilter accessLogFilter = new AccessLogFilter();
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(AccessLogFilter.class);
+
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @Before
+    public void setup() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @After
+    public void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    public void testWritesOneRecordPerRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/employee-api/v1/employee/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        accessLogFilter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            }
+        }));
+
+        Assert.assertEquals(1, appender.list.size());
+        String record = appender.list.get(0).getFormattedMessage();
+        Assert.assertTrue(record, record.startsWith("method=GET path=/employee-api/v1/employee/1 status=404 latency_us="));
+    }
+
+    @Test
+    public void testWritesRecordWhenTheChainFails() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/employee-api/v1/employee");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        try {
+            accessLogFilter.doFilter(request, response, (req, resp) -> {
+                throw new ServletException("failed");
+            });
+            Assert.fail();
+        } catch (ServletException e) {
+            Assert.assertEquals("failed", e.getMessage());
+        }
+
+        Assert.assertEquals(1, appender.list.size());
+        Assert.assertTrue(appender.list.get(0).getFormattedMessage().contains("status=500"));
+    }
+
+}
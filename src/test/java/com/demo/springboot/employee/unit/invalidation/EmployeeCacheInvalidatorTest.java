@@ -0,0 +1,115 @@
+package com.demo.springboot.employee.unit.invalidation;
+
+import com.demo.springboot.employee.invalidation.EmployeeCacheInvalidator;
+import com.demo.springboot.employee.invalidation.EmployeeChangeEvent;
+import com.demo.springboot.employee.invalidation.InMemoryInvalidationBus;
+import com.demo.springboot.employee.service.impl.AppUserDetailsService;
+import com.demo.springboot.employee.service.impl.EmployeeViewCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.UUID;
+
+public class EmployeeCacheInvalidatorTest {
+
+    private InMemoryInvalidationBus firstBus;
+
+    private InMemoryInvalidationBus secondBus;
+
+    private EmployeeViewCache firstViewCache = Mockito.mock(EmployeeViewCache.class);
+
+    private AppUserDetailsService firstUserDetails = Mockito.mock(AppUserDetailsService.class);
+
+    private EmployeeViewCache secondViewCache = Mockito.mock(EmployeeViewCache.class);
+
+    private AppUserDetailsService secondUserDetails = Mockito.mock(AppUserDetailsService.class);
+
+    private MeterRegistry secondMeterRegistry = new SimpleMeterRegistry();
+
+    private EmployeeCacheInvalidator first;
+
+    @Before
+    public void setup() {
+        String channel = UUID.randomUUID().toString();
+        firstBus = new InMemoryInvalidationBus(channel);
+        secondBus = new InMemoryInvalidationBus(channel);
+        first = invalidator(firstBus, firstViewCache, firstUserDetails, new SimpleMeterRegistry());
+        invalidator(secondBus, secondViewCache, secondUserDetails, secondMeterRegistry);
+    }
+
+    @After
+    public void tearDown() {
+        firstBus.close();
+        secondBus.close();
+    }
+
+    private EmployeeCacheInvalidator invalidator(InMemoryInvalidationBus bus, EmployeeViewCache employeeViewCache,
+                                                 AppUserDetailsService appUserDetailsService, MeterRegistry meterRegistry) {
+        EmployeeCacheInvalidator invalidator = new EmployeeCacheInvalidator();
+        ReflectionTestUtils.setField(invalidator, "invalidationBus", bus);
+        ReflectionTestUtils.setField(invalidator, "employeeViewCache", employeeViewCache);
+        ReflectionTestUtils.setField(invalidator, "appUserDetailsService", appUserDetailsService);
+        ReflectionTestUtils.setField(invalidator, "meterRegistry", meterRegistry);
+        invalidator.init();
+        return invalidator;
+    }
+
+    private EmployeeChangeEvent event(String nodeId, long version) {
+        return EmployeeChangeEvent.builder()
+                .nodeId(nodeId)
+                .version(version)
+                .employeeId(version)
+                .usernames(Collections.singletonList("ross"))
+                .build();
+    }
+
+    @Test
+    public void testPublishEvictsTheOtherNodes() {
+        first.publish(1L, "ross", "ross.geller");
+
+        Mockito.verify(secondViewCache, Mockito.times(1)).evict(1L, "ross", "ross.geller");
+        Mockito.verify(secondUserDetails, Mockito.times(1)).evict("ross");
+        Mockito.verify(secondUserDetails, Mockito.times(1)).evict("ross.geller");
+        Mockito.verifyZeroInteractions(firstViewCache, firstUserDetails);
+    }
+
+    @Test
+    public void testPublishAllEvictsEverything() {
+        first.publishAll();
+
+        Mockito.verify(secondViewCache, Mockito.times(1)).evictAll();
+        Mockito.verify(secondUserDetails, Mockito.times(1)).evictAll();
+        Mockito.verifyZeroInteractions(firstViewCache, firstUserDetails);
+    }
+
+    @Test
+    public void testSkippedVersionEvictsEverything() {
+        firstBus.publish(event("other", 7));
+        firstBus.publish(event("other", 8));
+        Mockito.verify(secondViewCache, Mockito.never()).evictAll();
+
+        firstBus.publish(event("other", 11));
+
+        Mockito.verify(secondViewCache, Mockito.times(1)).evictAll();
+        Mockito.verify(secondUserDetails, Mockito.times(1)).evictAll();
+        Assert.assertEquals(2.0, secondMeterRegistry.get("employee.invalidation.events").tag("type", "lost").counter().count(), 0.0);
+    }
+
+    @Test
+    public void testLateVersionIsStillApplied() {
+        firstBus.publish(event("other", 3));
+        firstBus.publish(event("other", 4));
+        firstBus.publish(event("other", 2));
+
+        Mockito.verify(secondViewCache, Mockito.times(1)).evict(2L, "ross");
+        Mockito.verify(secondViewCache, Mockito.never()).evictAll();
+    }
+
+}
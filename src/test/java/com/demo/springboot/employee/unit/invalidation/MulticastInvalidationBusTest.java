@@ -0,0 +1,56 @@
+package com.demo.springboot.employee.unit.invalidation;
+
+import com.demo.springboot.employee.invalidation.EmployeeChangeEvent;
+import com.demo.springboot.employee.invalidation.MulticastInvalidationBus;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+public class MulticastInvalidationBusTest {
+
+    private static final String GROUP = "239.255.27.1";
+
+    @Test
+    public void testEventsReachEveryBusOfTheGroup() throws Exception {
+        int port = 40_000 + ThreadLocalRandom.current().nextInt(10_000);
+        MulticastInvalidationBus firstBus;
+        MulticastInvalidationBus secondBus;
+        try {
+            firstBus = new MulticastInvalidationBus(GROUP, port, 0);
+            secondBus = new MulticastInvalidationBus(GROUP, port, 0);
+        } catch (IOException e) {
+            Assume.assumeNoException("multicast is not available", e);
+            return;
+        }
+        try {
+            BlockingQueue<EmployeeChangeEvent> firstEvents = new LinkedBlockingQueue<>();
+            BlockingQueue<EmployeeChangeEvent> secondEvents = new LinkedBlockingQueue<>();
+            firstBus.subscribe(firstEvents::add);
+            secondBus.subscribe(secondEvents::add);
+
+            EmployeeChangeEvent event = EmployeeChangeEvent.builder()
+                    .nodeId("first")
+                    .version(1)
+                    .employeeId(5L)
+                    .usernames(Arrays.asList("ross", "ross.geller"))
+                    .build();
+            firstBus.publish(event);
+
+            EmployeeChangeEvent received = secondEvents.poll(5, TimeUnit.SECONDS);
+            Assume.assumeNotNull(received);
+            Assert.assertEquals(event, received);
+            Assert.assertEquals(event, firstEvents.poll(5, TimeUnit.SECONDS));
+        } finally {
+            firstBus.close();
+            secondBus.close();
+        }
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.demo.springboot.employee.unit.security;
+
+import com.demo.springboot.employee.security.CachingPasswordEncoder;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CachingPasswordEncoderTest {
+
+    @Mock
+    private PasswordEncoder delegate;
+
+    private CachingPasswordEncoder cachingPasswordEncoder;
+
+    @Before
+    public void setup() {
+        cachingPasswordEncoder = new CachingPasswordEncoder(delegate, 100, 60);
+    }
+
+    @Test
+    public void testEncodeDelegates() {
+        Mockito.doReturn("encoded").when(delegate).encode("password");
+
+        Assert.assertEquals("encoded", cachingPasswordEncoder.encode("password"));
+
+    }
+
+    @Test
+    public void testMatchesIsCachedAfterSuccess() {
+        Mockito.doReturn(true).when(delegate).matches("password", "encoded");
+
+        Assert.assertTrue(cachingPasswordEncoder.matches("password", "encoded"));
+        Assert.assertTrue(cachingPasswordEncoder.matches("password", "encoded"));
+
+        Mockito.verify(delegate, Mockito.times(1)).matches("password", "encoded");
+
+    }
+
+    @Test
+    public void testMatchesFailureIsNotCached() {
+        Mockito.doReturn(false).when(delegate).matches("wrong", "encoded");
+
+        Assert.assertFalse(cachingPasswordEncoder.matches("wrong", "encoded"));
+        Assert.assertFalse(cachingPasswordEncoder.matches("wrong", "encoded"));
+
+        Mockito.verify(delegate, Mockito.times(2)).matches("wrong", "encoded");
+
+    }
+
+    @Test
+    public void testMatchesIsScopedToPasswordAndHash() {
+        Mockito.doReturn(true).when(delegate).matches("password", "encoded");
+
+        Assert.assertTrue(cachingPasswordEncoder.matches("password", "encoded"));
+        Assert.assertFalse(cachingPasswordEncoder.matches("other", "encoded"));
+        Assert.assertFalse(cachingPasswordEncoder.matches("password", "changed"));
+
+        Mockito.verify(delegate, Mockito.times(1)).matches("other", "encoded");
+        Mockito.verify(delegate, Mockito.times(1)).matches("password", "changed");
+
+    }
+
+    @Test
+    public void testMatchesAfterClear() {
+        Mockito.doReturn(true).when(delegate).matches("password", "encoded");
+
+        cachingPasswordEncoder.matches("password", "encoded");
+        cachingPasswordEncoder.clear();
+        cachingPasswordEncoder.matches("password", "encoded");
+
+        Mockito.verify(delegate, Mockito.times(2)).matches("password", "encoded");
+
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.demo.springboot.employee.unit.security;
+
+import com.demo.springboot.employee.security.CachingResourceServerTokenServices;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.oauth2.common.exceptions.InvalidTokenException;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+import org.springframework.security.oauth2.provider.token.AccessTokenConverter;
+import org.springframework.security.oauth2.provider.token.ResourceServerTokenServices;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CachingResourceServerTokenServicesTest {
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    @Mock
+    private ResourceServerTokenServices delegate;
+
+    private CachingResourceServerTokenServices cachingTokenServices;
+
+    private OAuth2Authentication authentication;
+
+    @Before
+    public void setup() {
+        cachingTokenServices = new CachingResourceServerTokenServices(delegate, 100);
+        OAuth2Request request = new OAuth2Request(Collections.emptyMap(), "client", AuthorityUtils.createAuthorityList("ADMIN_USER"),
+                true, Collections.singleton("read"), Collections.singleton("resource"), null, null, null);
+        authentication = new OAuth2Authentication(request,
+                new UsernamePasswordAuthenticationToken("admin", "N/A", AuthorityUtils.createAuthorityList("ADMIN_USER")));
+    }
+
+    private OAuth2Authentication expiringAt(long expiresAtMillis) {
+        authentication.setDetails(Collections.singletonMap(AccessTokenConverter.EXP, TimeUnit.MILLISECONDS.toSeconds(expiresAtMillis)));
+        return authentication;
+    }
+
+    @Test
+    public void testLoadAuthenticationIsCached() {
+        Mockito.doReturn(expiringAt(System.currentTimeMillis() + 60_000)).when(delegate).loadAuthentication("token");
+
+        OAuth2Authentication first = cachingTokenServices.loadAuthentication("token");
+        OAuth2Authentication second = cachingTokenServices.loadAuthentication("token");
+
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals("admin", second.getName());
+        Assert.assertEquals(authentication.getAuthorities(), second.getAuthorities());
+        Assert.assertEquals(authentication.getDetails(), second.getDetails());
+        Assert.assertEquals(1, cachingTokenServices.getCache().stats().hitCount());
+        Mockito.verify(delegate, Mockito.times(1)).loadAuthentication("token");
+        Mockito.verify(delegate, Mockito.never()).readAccessToken(Mockito.anyString());
+
+    }
+
+    @Test
+    public void testLoadAuthenticationOfExpiredTokenIsNotCached() {
+        Mockito.doReturn(expiringAt(System.currentTimeMillis() - 1_000)).when(delegate).loadAuthentication("token");
+
+        cachingTokenServices.loadAuthentication("token");
+        cachingTokenServices.loadAuthentication("token");
+
+        Mockito.verify(delegate, Mockito.times(2)).loadAuthentication("token");
+
+    }
+
+    @Test
+    public void testLoadAuthenticationOfTokenWithoutExpiryIsNotCached() {
+        Mockito.doReturn(authentication).when(delegate).loadAuthentication("token");
+
+        cachingTokenServices.loadAuthentication("token");
+        cachingTokenServices.loadAuthentication("token");
+
+        Mockito.verify(delegate, Mockito.times(2)).loadAuthentication("token");
+
+    }
+
+    @Test
+    public void testLoadAuthenticationWithInvalidToken() {
+        Mockito.doThrow(new InvalidTokenException("Cannot convert access token to JSON")).when(delegate).loadAuthentication("invalid");
+
+        expectedException.expect(InvalidTokenException.class);
+
+        try {
+            cachingTokenServices.loadAuthentication("invalid");
+        } finally {
+            Assert.assertEquals(0, cachingTokenServices.getCache().estimatedSize());
+        }
+
+    }
+
+}
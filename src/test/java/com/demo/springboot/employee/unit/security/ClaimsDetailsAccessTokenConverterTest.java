@@ -0,0 +1,46 @@
+package com.demo.springboot.employee.unit.security;
+
+import com.demo.springboot.employee.security.ClaimsDetailsAccessTokenConverter;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+import org.springframework.security.oauth2.provider.token.AccessTokenConverter;
+import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
+import org.springframework.security.oauth2.provider.token.store.JwtTokenStore;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class ClaimsDetailsAccessTokenConverterTest {
+
+    @Test
+    public void testAuthenticationKeepsVerifiedClaimsAsDetails() throws Exception {
+        JwtAccessTokenConverter jwtAccessTokenConverter = new JwtAccessTokenConverter();
+        jwtAccessTokenConverter.setSigningKey("signing-key");
+        jwtAccessTokenConverter.setAccessTokenConverter(new ClaimsDetailsAccessTokenConverter());
+        jwtAccessTokenConverter.afterPropertiesSet();
+        OAuth2Request request = new OAuth2Request(Collections.emptyMap(), "client", AuthorityUtils.createAuthorityList("ADMIN_USER"),
+                true, Collections.singleton("read"), Collections.singleton("resource"), null, null, null);
+        OAuth2Authentication authentication = new OAuth2Authentication(request,
+                new UsernamePasswordAuthenticationToken("admin", "N/A", AuthorityUtils.createAuthorityList("ADMIN_USER")));
+        DefaultOAuth2AccessToken accessToken = new DefaultOAuth2AccessToken("token");
+        long expiresAtSeconds = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) + 60;
+        accessToken.setExpiration(new Date(TimeUnit.SECONDS.toMillis(expiresAtSeconds)));
+        OAuth2AccessToken jwt = jwtAccessTokenConverter.enhance(accessToken, authentication);
+
+        OAuth2Authentication loaded = new JwtTokenStore(jwtAccessTokenConverter).readAuthentication(jwt.getValue());
+
+        Assert.assertEquals("admin", loaded.getName());
+        Assert.assertEquals(expiresAtSeconds, ((Number) ((Map<?, ?>) loaded.getDetails()).get(AccessTokenConverter.EXP)).longValue());
+        Assert.assertEquals("admin", ((Map<?, ?>) loaded.getDetails()).get("user_name"));
+
+    }
+
+}
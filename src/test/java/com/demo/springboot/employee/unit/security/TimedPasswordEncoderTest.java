@@ -0,0 +1,51 @@
+package com.demo.springboot.employee.unit.security;
+
+import com.demo.springboot.employee.security.TimedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TimedPasswordEncoderTest {
+
+    @Mock
+    private PasswordEncoder delegate;
+
+    private MeterRegistry meterRegistry;
+
+    private TimedPasswordEncoder timedPasswordEncoder;
+
+    @Before
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        timedPasswordEncoder = new TimedPasswordEncoder(delegate, meterRegistry);
+    }
+
+    @Test
+    public void testEncodeIsTimed() {
+        Mockito.doReturn("encoded").when(delegate).encode("password");
+
+        Assert.assertEquals("encoded", timedPasswordEncoder.encode("password"));
+
+        Assert.assertEquals(1, meterRegistry.get("security.password.encode").timer().count());
+    }
+
+    @Test
+    public void testMatchesIsTimedByOutcome() {
+        Mockito.doReturn(true).when(delegate).matches("password", "encoded");
+
+        Assert.assertTrue(timedPasswordEncoder.matches("password", "encoded"));
+        Assert.assertFalse(timedPasswordEncoder.matches("wrong", "encoded"));
+
+        Assert.assertEquals(1, meterRegistry.get("security.password.matches").tag("outcome", "matched").timer().count());
+        Assert.assertEquals(1, meterRegistry.get("security.password.matches").tag("outcome", "mismatched").timer().count());
+    }
+
+}
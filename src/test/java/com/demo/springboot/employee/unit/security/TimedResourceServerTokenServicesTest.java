@@ -0,0 +1,59 @@
+package com.demo.springboot.employee.unit.security;
+
+import com.demo.springboot.employee.security.TimedResourceServerTokenServices;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.security.oauth2.common.exceptions.InvalidTokenException;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.token.ResourceServerTokenServices;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TimedResourceServerTokenServicesTest {
+
+    @Mock
+    private ResourceServerTokenServices delegate;
+
+    @Mock
+    private OAuth2Authentication authentication;
+
+    private MeterRegistry meterRegistry;
+
+    private TimedResourceServerTokenServices timedTokenServices;
+
+    @Before
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        timedTokenServices = new TimedResourceServerTokenServices(delegate, meterRegistry);
+    }
+
+    @Test
+    public void testVerificationIsTimed() {
+        Mockito.doReturn(authentication).when(delegate).loadAuthentication("token");
+
+        Assert.assertSame(authentication, timedTokenServices.loadAuthentication("token"));
+
+        Assert.assertEquals(1, meterRegistry.get("security.token.verify").tag("outcome", "verified").timer().count());
+    }
+
+    @Test
+    public void testRejectedTokenIsTimed() {
+        Mockito.doThrow(new InvalidTokenException("invalid")).when(delegate).loadAuthentication("invalid");
+
+        try {
+            timedTokenServices.loadAuthentication("invalid");
+            Assert.fail();
+        } catch (InvalidTokenException e) {
+            Assert.assertEquals("invalid", e.getMessage());
+        }
+
+        Assert.assertEquals(1, meterRegistry.get("security.token.verify").tag("outcome", "rejected").timer().count());
+    }
+
+}
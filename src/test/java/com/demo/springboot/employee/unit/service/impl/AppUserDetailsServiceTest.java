@@ -4,7 +4,10 @@ import com.demo.springboot.employee.domain.Employee;
 import com.demo.springboot.employee.domain.Role;
 import com.demo.springboot.employee.repository.EmployeeRepository;
 import com.demo.springboot.employee.service.impl.AppUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.Assert;
+import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -13,8 +16,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.security.core.CredentialsContainer;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -30,10 +35,15 @@ public class AppUserDetailsServiceTest {
     @InjectMocks
     private AppUserDetailsService appUserDetailsService;
 
-    @Test
-    public void testLoadUserByUsernameWithSuccess() {
-        String userName = "koushik.pal";
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Before
+    public void setup() {
+        ReflectionTestUtils.setField(appUserDetailsService, "meterRegistry", meterRegistry);
+        appUserDetailsService.init();
+    }
 
+    private Employee employee(String activeStatus) {
         List<Role> role = new ArrayList<Role>() {
             {
                 add(new Role().builder()
@@ -44,8 +54,8 @@ public class AppUserDetailsServiceTest {
                 );
             }
         };
-        Employee employee = Employee.builder()
-                .activeStatus("active")
+        return Employee.builder()
+                .activeStatus(activeStatus)
                 .firstName("koushik")
                 .lastName("pal")
                 .password("password")
@@ -54,11 +64,55 @@ public class AppUserDetailsServiceTest {
                 .roles(role)
                 .deletedDate(null)
                 .build();
-        Mockito.doReturn(Optional.of(employee)).when(employeeRepository).findByUsername(userName);
+    }
+
+    @Test
+    public void testLoadUserByUsernameWithSuccess() {
+        String userName = "koushik.pal";
+
+        Mockito.doReturn(Optional.of(employee("active"))).when(employeeRepository).findByUsername(userName);
 
         UserDetails userDetails = appUserDetailsService.loadUserByUsername(userName);
 
         Assert.assertEquals("koushik.pal", userDetails.getUsername());
+        Assert.assertEquals("ADMIN", userDetails.getAuthorities().iterator().next().getAuthority());
+        Assert.assertTrue(userDetails.isEnabled());
+
+    }
+
+    @Test
+    public void testLoadUserByUsernameIsCached() {
+        String userName = "koushik.pal";
+
+        Mockito.doReturn(Optional.of(employee("active"))).when(employeeRepository).findByUsername(userName);
+
+        UserDetails first = appUserDetailsService.loadUserByUsername(userName);
+        // the authentication manager erases the credentials of the user it authenticated
+        ((CredentialsContainer) first).eraseCredentials();
+        UserDetails second = appUserDetailsService.loadUserByUsername(userName);
+
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals("password", second.getPassword());
+        Mockito.verify(employeeRepository, Mockito.times(1)).findByUsername(userName);
+        Assert.assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count(), 0.0);
+        Assert.assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count(), 0.0);
+
+    }
+
+    @Test
+    public void testLoadUserByUsernameAfterEvict() {
+        String userName = "koushik.pal";
+
+        Mockito.doReturn(Optional.of(employee("active"))).when(employeeRepository).findByUsername(userName);
+        appUserDetailsService.loadUserByUsername(userName);
+
+        Mockito.doReturn(Optional.of(employee("inactive"))).when(employeeRepository).findByUsername(userName);
+        appUserDetailsService.evict(userName);
+
+        UserDetails userDetails = appUserDetailsService.loadUserByUsername(userName);
+
+        Assert.assertFalse(userDetails.isEnabled());
+        Mockito.verify(employeeRepository, Mockito.times(2)).findByUsername(userName);
 
     }
 
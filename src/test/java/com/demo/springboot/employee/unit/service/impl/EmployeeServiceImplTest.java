@@ -2,11 +2,18 @@ package com.demo.springboot.employee.unit.service.impl;
 
 import com.demo.springboot.employee.constant.StatusConstants;
 import com.demo.springboot.employee.domain.Employee;
+import com.demo.springboot.employee.domain.EmployeeView;
 import com.demo.springboot.employee.domain.Role;
+import com.demo.springboot.employee.domain.RoleView;
 import com.demo.springboot.employee.exception.ServiceException;
+import com.demo.springboot.employee.invalidation.EmployeeCacheInvalidator;
 import com.demo.springboot.employee.repository.EmployeeRepository;
+import com.demo.springboot.employee.service.impl.AppUserDetailsService;
 import com.demo.springboot.employee.service.impl.EmployeeServiceImpl;
+import com.demo.springboot.employee.service.impl.EmployeeViewCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.Assert;
+import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -15,10 +22,20 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @RunWith(MockitoJUnitRunner.class)
 public class EmployeeServiceImplTest {
@@ -27,9 +44,21 @@ public class EmployeeServiceImplTest {
     public ExpectedException expectedException = ExpectedException.none();
     @Mock
     private EmployeeRepository employeeRepository;
+    @Mock
+    private AppUserDetailsService appUserDetailsService;
+    @Mock
+    private EmployeeCacheInvalidator employeeCacheInvalidator;
     @InjectMocks
     private EmployeeServiceImpl genericService;
 
+    @Before
+    public void setup() {
+        EmployeeViewCache employeeViewCache = new EmployeeViewCache();
+        ReflectionTestUtils.setField(employeeViewCache, "meterRegistry", new SimpleMeterRegistry());
+        employeeViewCache.init();
+        ReflectionTestUtils.setField(genericService, "employeeViewCache", employeeViewCache);
+    }
+
     @Test
     public void testFindByIdWithSuccess() {
         Long id = 1L;
@@ -65,35 +94,74 @@ public class EmployeeServiceImplTest {
 
     @Test
     public void testFindAllWithSuccess() {
-        List<Role> role = new ArrayList<Role>() {
-            {
-                add(new Role().builder()
-                        .roleName("ADMIN")
-                        .description("Desc")
-                        .id(1L)
-                        .build()
-                );
-            }
-        };
+        EmployeeView employee = new EmployeeView(1L, "username", "first name", "last name", "active", null, null,
+                Collections.singletonList(new RoleView(1L, "ADMIN", "Desc")), 1L);
+        List<EmployeeView> employeeList = new ArrayList<>();
+        employeeList.add(employee);
+
+        Mockito.doReturn(employeeList).when(employeeRepository).findActiveEmployeeViews(null, "first", "ADMIN", 10);
+
+        List<EmployeeView> actualEmployeeList = genericService.findAll("first", "ADMIN", null, 10);
+
+        Assert.assertEquals(employee, actualEmployeeList.get(0));
+        Mockito.verify(employeeRepository, Mockito.times(1)).findActiveEmployeeViews(null, "first", "ADMIN", 10);
+
+    }
+
+    @Test
+    public void testFindViewByIdWithSuccess() {
+        EmployeeView employee = new EmployeeView(1L, "username", "first name", "last name", "inactive", null, null, 1L);
+
+        Mockito.doReturn(Optional.of(employee)).when(employeeRepository).findEmployeeView(1L);
+
+        Assert.assertEquals(employee, genericService.findViewById(1L).get());
+        Mockito.verify(employeeRepository, Mockito.never()).findById(1L);
+
+    }
+
+    @Test
+    public void testFindViewByIdIsCached() {
+        EmployeeView employee = new EmployeeView(1L, "username", "first name", "last name", "active", null, null, 1L);
+
+        Mockito.doReturn(Optional.of(employee)).when(employeeRepository).findEmployeeView(1L);
+        Mockito.doReturn(Optional.of(1L)).when(employeeRepository).findIdByUsername("username");
+
+        Assert.assertEquals(employee, genericService.findViewById(1L).get());
+        Assert.assertEquals(employee, genericService.findViewById(1L).get());
+        Assert.assertEquals(employee, genericService.findViewByUsername("username").get());
+        Mockito.verify(employeeRepository, Mockito.times(1)).findEmployeeView(1L);
+
+    }
+
+    @Test
+    public void testFindViewByIdDoesNotCacheUnknownIds() {
+        Mockito.doReturn(Optional.empty()).when(employeeRepository).findEmployeeView(1L);
+
+        Assert.assertFalse(genericService.findViewById(1L).isPresent());
+        Assert.assertFalse(genericService.findViewById(1L).isPresent());
+        Mockito.verify(employeeRepository, Mockito.times(2)).findEmployeeView(1L);
+
+    }
+
+    @Test
+    public void testDeleteEvictsCachedView() {
         Employee employee = Employee.builder()
                 .activeStatus("active")
-                .firstName("first name")
-                .lastName("last name")
-                .password("password")
                 .username("username")
                 .id(1L)
-                .roles(role)
-                .deletedDate(null)
                 .build();
-        List<Employee> employeeList = new ArrayList<>();
-        employeeList.add(employee);
+        EmployeeView activeEmployee = new EmployeeView(1L, "username", "first name", "last name", "active", null, null, 1L);
+        EmployeeView inactiveEmployee = new EmployeeView(1L, "username", "first name", "last name", "inactive", null, null, 1L);
 
-        Mockito.doReturn(employeeList).when(employeeRepository).findAllActiveEmployees();
+        Mockito.doReturn(Optional.of(activeEmployee)).doReturn(Optional.of(inactiveEmployee))
+                .when(employeeRepository).findEmployeeView(1L);
+        Mockito.doReturn(Optional.of(employee)).when(employeeRepository).findById(1L);
 
-        List<Employee> actualEmployeeList = genericService.findAll();
+        Assert.assertEquals("active", genericService.findViewById(1L).get().getActiveStatus());
+        genericService.delete(1L);
 
-        Assert.assertEquals(employee, actualEmployeeList.get(0));
-        Mockito.verify(employeeRepository, Mockito.times(1)).findAllActiveEmployees();
+        Assert.assertEquals("inactive", genericService.findViewById(1L).get().getActiveStatus());
+        Mockito.verify(employeeRepository, Mockito.times(2)).findEmployeeView(1L);
 
     }
 
@@ -121,11 +189,11 @@ public class EmployeeServiceImplTest {
                 .build();
 
         Mockito.doReturn(null).when(employeeRepository).save(employee);
-        Mockito.doReturn(Optional.empty()).when(employeeRepository).findByUsername(Mockito.anyString());
 
         genericService.register(employee);
 
         Mockito.verify(employeeRepository, Mockito.times(1)).save(employee);
+        Mockito.verify(employeeRepository, Mockito.never()).findByUsername(Mockito.anyString());
 
     }
 
@@ -152,8 +220,9 @@ public class EmployeeServiceImplTest {
                 .deletedDate(null)
                 .build();
 
-        Mockito.doReturn(null).when(employeeRepository).save(employee);
-        Mockito.doReturn(Optional.of(employee)).when(employeeRepository).findByUsername(Mockito.anyString());
+        Mockito.doThrow(new DataIntegrityViolationException("could not execute statement",
+                new SQLException("Unique index or primary key violation: \"PUBLIC.UX_EMPLOYEE_USERNAME ON PUBLIC.EMPLOYEE(USERNAME)\"")))
+                .when(employeeRepository).save(employee);
 
         expectedException.expect(ServiceException.class);
         expectedException.expectMessage(StatusConstants.HttpConstants.USERNAME_IS_ALREADY_EXIST.getDesc());
@@ -164,6 +233,22 @@ public class EmployeeServiceImplTest {
 
     }
 
+    @Test
+    public void testRegisterWithOtherConstraintViolation() {
+        Employee employee = Employee.builder()
+                .firstName("first name")
+                .username("username")
+                .build();
+        DataIntegrityViolationException exception = new DataIntegrityViolationException("could not execute statement",
+                new SQLException("NULL not allowed for column \"LAST_NAME\""));
+        Mockito.doThrow(exception).when(employeeRepository).save(employee);
+
+        expectedException.expect(DataIntegrityViolationException.class);
+
+        genericService.register(employee);
+
+    }
+
     @Test
     public void testUpdateWithSuccess() {
         Long id = 1L;
@@ -189,14 +274,16 @@ public class EmployeeServiceImplTest {
                 .deletedDate(null)
                 .build();
 
-        Mockito.doReturn(Optional.empty()).when(employeeRepository).findByUsername("username");
+        Mockito.doReturn(Optional.empty()).when(employeeRepository).findIdByUsername("username");
 
-        Mockito.doReturn(null).when(employeeRepository).save(employee);
+        Mockito.doReturn(null).when(employeeRepository).saveAndFlush(employee);
         Mockito.doReturn(Optional.of(employee)).when(employeeRepository).findById(id);
 
         genericService.update(employee);
 
-        Mockito.verify(employeeRepository, Mockito.times(1)).save(employee);
+        Mockito.verify(employeeRepository, Mockito.times(1)).saveAndFlush(employee);
+        Mockito.verify(appUserDetailsService, Mockito.times(2)).evict("username");
+        Mockito.verify(employeeCacheInvalidator, Mockito.times(1)).publish(1L, "username", "username");
 
     }
 
@@ -224,9 +311,11 @@ public class EmployeeServiceImplTest {
                 .roles(role)
                 .deletedDate(null)
                 .build();
-        Mockito.doReturn(Optional.of(employee)).when(employeeRepository).findByUsername("username");
+        Mockito.doReturn(Optional.of(1L)).when(employeeRepository).findIdByUsername("username");
+        Mockito.doReturn(Optional.of(new EmployeeView(1L, "username", "first name", "last name", "active", null, null, 1L)))
+                .when(employeeRepository).findEmployeeView(1L);
 
-        Mockito.doReturn(null).when(employeeRepository).save(employee);
+        Mockito.doReturn(null).when(employeeRepository).saveAndFlush(employee);
         Mockito.doReturn(Optional.empty()).when(employeeRepository).findById(id);
 
         expectedException.expect(ServiceException.class);
@@ -234,7 +323,7 @@ public class EmployeeServiceImplTest {
 
         genericService.update(employee);
 
-        Mockito.verify(employeeRepository, Mockito.times(0)).save(employee);
+        Mockito.verify(employeeRepository, Mockito.times(0)).saveAndFlush(employee);
 
     }
 
@@ -262,9 +351,9 @@ public class EmployeeServiceImplTest {
                 .roles(role)
                 .deletedDate(null)
                 .build();
-        Mockito.doReturn(Optional.empty()).when(employeeRepository).findByUsername("username");
+        Mockito.doReturn(Optional.empty()).when(employeeRepository).findIdByUsername("username");
 
-        Mockito.doReturn(null).when(employeeRepository).save(employee);
+        Mockito.doReturn(null).when(employeeRepository).saveAndFlush(employee);
         Mockito.doReturn(Optional.empty()).when(employeeRepository).findById(id);
 
         expectedException.expect(ServiceException.class);
@@ -272,7 +361,7 @@ public class EmployeeServiceImplTest {
 
         genericService.update(employee);
 
-        Mockito.verify(employeeRepository, Mockito.times(1)).save(employee);
+        Mockito.verify(employeeRepository, Mockito.times(1)).saveAndFlush(employee);
 
     }
 
@@ -301,12 +390,14 @@ public class EmployeeServiceImplTest {
                 .deletedDate(null)
                 .build();
 
-        Mockito.doReturn(null).when(employeeRepository).save(employee);
+        Mockito.doReturn(null).when(employeeRepository).saveAndFlush(employee);
         Mockito.doReturn(Optional.of(employee)).when(employeeRepository).findById(id);
 
         genericService.delete(id);
 
-        Mockito.verify(employeeRepository, Mockito.times(1)).save(employee);
+        Mockito.verify(employeeRepository, Mockito.times(1)).saveAndFlush(employee);
+        Mockito.verify(appUserDetailsService, Mockito.times(1)).evict("username");
+        Mockito.verify(employeeCacheInvalidator, Mockito.times(1)).publish(1L, "username");
 
     }
 
@@ -335,7 +426,7 @@ public class EmployeeServiceImplTest {
                 .deletedDate(null)
                 .build();
 
-        Mockito.doReturn(null).when(employeeRepository).save(employee);
+        Mockito.doReturn(null).when(employeeRepository).saveAndFlush(employee);
         Mockito.doReturn(Optional.empty()).when(employeeRepository).findById(id);
 
         expectedException.expect(ServiceException.class);
@@ -343,9 +434,174 @@ public class EmployeeServiceImplTest {
 
         genericService.delete(id);
 
-        Mockito.verify(employeeRepository, Mockito.times(1)).save(employee);
+        Mockito.verify(employeeRepository, Mockito.times(1)).saveAndFlush(employee);
 
     }
 
 
+    @Test
+    public void testUpdateWithStaleVersion() {
+        Employee employee = Employee.builder()
+                .activeStatus("active")
+                .firstName("first name")
+                .id(1L)
+                .version(2L)
+                .build();
+        Employee requestEmployee = Employee.builder()
+                .firstName("new first name")
+                .id(1L)
+                .version(1L)
+                .build();
+        Mockito.doReturn(Optional.of(employee)).when(employeeRepository).findById(1L);
+
+        try {
+            genericService.update(requestEmployee);
+            Assert.fail();
+        } catch (ServiceException e) {
+            Assert.assertEquals(StatusConstants.HttpConstants.EMPLOYEE_VERSION_CONFLICT, e.getStatus());
+        }
+
+        Assert.assertEquals("first name", employee.getFirstName());
+        Mockito.verify(employeeRepository, Mockito.times(0)).saveAndFlush(employee);
+        Mockito.verify(employeeCacheInvalidator, Mockito.times(0)).publish(Mockito.anyLong(), Mockito.<String>anyVararg());
+
+    }
+
+    @Test
+    public void testUpdateLosingConcurrentUpdate() {
+        Employee employee = Employee.builder()
+                .activeStatus("active")
+                .firstName("first name")
+                .username("username")
+                .id(1L)
+                .version(1L)
+                .build();
+        Employee requestEmployee = Employee.builder()
+                .firstName("new first name")
+                .id(1L)
+                .build();
+        Mockito.doReturn(Optional.of(employee)).when(employeeRepository).findById(1L);
+        Mockito.doThrow(new ObjectOptimisticLockingFailureException(Employee.class, 1L))
+                .when(employeeRepository).saveAndFlush(employee);
+
+        expectedException.expect(ServiceException.class);
+        expectedException.expectMessage(StatusConstants.HttpConstants.EMPLOYEE_VERSION_CONFLICT.getDesc());
+
+        genericService.update(requestEmployee);
+
+    }
+
+    @Test
+    public void testDeleteWithMatchingVersion() {
+        Employee employee = Employee.builder()
+                .activeStatus("active")
+                .username("username")
+                .id(1L)
+                .version(3L)
+                .build();
+        Mockito.doReturn(Optional.of(employee)).when(employeeRepository).findById(1L);
+
+        genericService.delete(1L, 3L);
+
+        Assert.assertEquals("inactive", employee.getActiveStatus());
+        Mockito.verify(employeeRepository, Mockito.times(1)).saveAndFlush(employee);
+
+    }
+
+    @Test
+    public void testDeleteWithStaleVersion() {
+        Employee employee = Employee.builder()
+                .activeStatus("active")
+                .username("username")
+                .id(1L)
+                .version(3L)
+                .build();
+        Mockito.doReturn(Optional.of(employee)).when(employeeRepository).findById(1L);
+
+        expectedException.expect(ServiceException.class);
+        expectedException.expectMessage(StatusConstants.HttpConstants.EMPLOYEE_VERSION_CONFLICT.getDesc());
+
+        genericService.delete(1L, 2L);
+
+    }
+
+    @Test
+    public void testFindExistingUsernamesInChunks() {
+        List<String> usernames = new ArrayList<>();
+        for (int i = 0; i < 1500; i++) {
+            usernames.add("username" + i);
+        }
+        Mockito.doReturn(Collections.singletonList("username1")).when(employeeRepository).findUsernamesByUsernameIn(usernames.subList(0, 1000));
+        Mockito.doReturn(Collections.singletonList("username1400")).when(employeeRepository).findUsernamesByUsernameIn(usernames.subList(1000, 1500));
+
+        Set<String> existingUsernames = genericService.findExistingUsernames(usernames);
+
+        Assert.assertEquals(new HashSet<>(Arrays.asList("username1", "username1400")), existingUsernames);
+        Mockito.verify(employeeRepository, Mockito.times(2)).findUsernamesByUsernameIn(Mockito.anyCollection());
+
+    }
+
+    @Test
+    public void testRegisterAllWithSuccess() {
+        List<Employee> employees = Collections.singletonList(Employee.builder().username("username").build());
+        Mockito.doReturn(employees).when(employeeRepository).saveAll(employees);
+
+        List<Employee> savedEmployees = genericService.registerAll(employees);
+
+        Assert.assertSame(employees, savedEmployees);
+        Mockito.verify(employeeRepository, Mockito.times(1)).flush();
+
+    }
+
+    @Test
+    public void testRegisterAllWithUsernameAlreadyExists() {
+        List<Employee> employees = Collections.singletonList(Employee.builder().username("username").build());
+        Mockito.doReturn(employees).when(employeeRepository).saveAll(employees);
+        Mockito.doThrow(new DataIntegrityViolationException("could not execute batch",
+                new SQLException("Unique index or primary key violation: \"PUBLIC.UX_EMPLOYEE_USERNAME ON PUBLIC.EMPLOYEE(USERNAME)\"")))
+                .when(employeeRepository).flush();
+
+        expectedException.expect(ServiceException.class);
+        expectedException.expectMessage(StatusConstants.HttpConstants.USERNAME_IS_ALREADY_EXIST.getDesc());
+
+        genericService.registerAll(employees);
+
+    }
+
+    @Test
+    public void testDeleteAllUpdatesIdsInChunksAndEvictsUserDetails() {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 1500; id++) {
+            ids.add(id);
+        }
+        Mockito.doReturn(Collections.singletonList("first")).doReturn(Collections.singletonList("second"))
+                .when(employeeRepository).findActiveUsernames(Mockito.anyCollection(), Mockito.isNull(String.class), Mockito.isNull(String.class));
+        Mockito.doReturn(1)
+                .when(employeeRepository).softDeleteActiveEmployees(Mockito.anyCollection(), Mockito.isNull(String.class), Mockito.isNull(String.class), Mockito.any(Timestamp.class));
+
+        int deletedCount = genericService.deleteAll(ids, null, null);
+
+        Assert.assertEquals(2, deletedCount);
+        Mockito.verify(employeeRepository, Mockito.times(2)).softDeleteActiveEmployees(Mockito.anyCollection(), Mockito.isNull(String.class), Mockito.isNull(String.class), Mockito.any(Timestamp.class));
+        Mockito.verify(appUserDetailsService, Mockito.times(1)).evict("first");
+        Mockito.verify(appUserDetailsService, Mockito.times(1)).evict("second");
+        Mockito.verify(appUserDetailsService, Mockito.never()).evictAll();
+
+    }
+
+    @Test
+    public void testDeleteAllByFilterEvictsEveryUserDetailsWhenMoreRowsAreUpdated() {
+        Mockito.doReturn(Collections.singletonList("first"))
+                .when(employeeRepository).findActiveUsernames(null, "ross", "STANDARD_USER");
+        Mockito.doReturn(2)
+                .when(employeeRepository).softDeleteActiveEmployees(Mockito.isNull(Collection.class), Mockito.eq("ross"), Mockito.eq("STANDARD_USER"), Mockito.any(Timestamp.class));
+
+        int deletedCount = genericService.deleteAll(null, "ross", "STANDARD_USER");
+
+        Assert.assertEquals(2, deletedCount);
+        Mockito.verify(appUserDetailsService, Mockito.times(1)).evictAll();
+        Mockito.verify(employeeCacheInvalidator, Mockito.times(1)).publishAll();
+
+    }
+
 }
@@ -0,0 +1,102 @@
+package com.demo.springboot.employee.unit.service.impl;
+
+import com.demo.springboot.employee.domain.EmployeeView;
+import com.demo.springboot.employee.service.impl.EmployeeViewCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class EmployeeViewCacheTest {
+
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private EmployeeViewCache employeeViewCache = new EmployeeViewCache();
+
+    private Map<Long, EmployeeView> views = new HashMap<>();
+
+    private Map<String, Long> ids = new HashMap<>();
+
+    private AtomicInteger loads = new AtomicInteger();
+
+    @Before
+    public void setup() {
+        ReflectionTestUtils.setField(employeeViewCache, "meterRegistry", meterRegistry);
+        employeeViewCache.init();
+        store(new EmployeeView(1L, "ross", "Ross", "Geller", "active", null, null, 1L));
+    }
+
+    private void store(EmployeeView employeeView) {
+        views.put(employeeView.getId(), employeeView);
+        ids.put(employeeView.getUsername(), employeeView.getId());
+    }
+
+    private Optional<EmployeeView> load(Long id) {
+        loads.incrementAndGet();
+        return Optional.ofNullable(views.get(id));
+    }
+
+    private Optional<EmployeeView> getByUsername(String username) {
+        return employeeViewCache.getByUsername(username, key -> Optional.ofNullable(ids.get(key)), this::load);
+    }
+
+    @Test
+    public void testGetByUsernameIsServedFromTheCachedView() {
+        Assert.assertEquals("Ross", employeeViewCache.getById(1L, this::load).get().getFirstName());
+        Assert.assertEquals("Ross", getByUsername("ross").get().getFirstName());
+        Assert.assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testEvictReloadsTheView() {
+        employeeViewCache.getById(1L, this::load);
+        store(new EmployeeView(1L, "ross", "Ross", "Geller", "inactive", null, null, 1L));
+
+        Assert.assertEquals("active", getByUsername("ross").get().getActiveStatus());
+        employeeViewCache.evict(1L, "ross");
+
+        Assert.assertEquals("inactive", getByUsername("ross").get().getActiveStatus());
+        Assert.assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testStaleUsernameIndexIsReloaded() {
+        Assert.assertTrue(getByUsername("ross").isPresent());
+        // ross is renamed and the name given to another employee without an eviction
+        views.clear();
+        ids.clear();
+        store(new EmployeeView(1L, "ross.geller", "Ross", "Geller", "active", null, null, 1L));
+        store(new EmployeeView(2L, "ross", "Ross", "Other", "active", null, null, 1L));
+        employeeViewCache.evict(1L);
+
+        Assert.assertEquals(Long.valueOf(2L), getByUsername("ross").get().getId());
+    }
+
+    @Test
+    public void testUnknownUsernameIsNotCached() {
+        Assert.assertFalse(getByUsername("monica").isPresent());
+        store(new EmployeeView(3L, "monica", "Monica", "Geller", "active", null, null, 1L));
+
+        Assert.assertTrue(getByUsername("monica").isPresent());
+    }
+
+    @Test
+    public void testHitsAndEvictionsAreMeasured() {
+        employeeViewCache.getById(1L, this::load);
+        employeeViewCache.getById(1L, this::load);
+
+        Assert.assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", EmployeeViewCache.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count(), 0.0);
+        Assert.assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", EmployeeViewCache.CACHE_NAME)
+                .tag("result", "miss").functionCounter().count(), 0.0);
+        Assert.assertNotNull(meterRegistry.get("cache.evictions").tag("cache", EmployeeViewCache.USERNAME_INDEX_NAME).functionCounter());
+    }
+
+}
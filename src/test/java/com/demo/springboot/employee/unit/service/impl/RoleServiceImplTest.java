@@ -0,0 +1,82 @@
+package com.demo.springboot.employee.unit.service.impl;
+
+import com.demo.springboot.employee.constant.StatusConstants;
+import com.demo.springboot.employee.domain.Role;
+import com.demo.springboot.employee.exception.ServiceException;
+import com.demo.springboot.employee.repository.RoleRepository;
+import com.demo.springboot.employee.service.impl.RoleServiceImpl;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RoleServiceImplTest {
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+    @Mock
+    private RoleRepository roleRepository;
+    @InjectMocks
+    private RoleServiceImpl roleServiceImpl;
+
+    private List<Role> roles;
+
+    @Before
+    public void setup() {
+        roles = new ArrayList<>(Arrays.asList(
+                new Role().builder().id(1L).roleName("STANDARD_USER").description("Standard").build(),
+                new Role().builder().id(2L).roleName("ADMIN_USER").description("Admin").build()
+        ));
+        Mockito.doReturn(roles).when(roleRepository).findAll();
+        roleServiceImpl.init();
+    }
+
+    @Test
+    public void testFindByRoleNameReturnsCanonicalInstance() {
+        Role role = roleServiceImpl.findByRoleName("ADMIN_USER");
+
+        Assert.assertSame(roles.get(1), role);
+        Assert.assertSame(role, roleServiceImpl.findByRoleName("ADMIN_USER"));
+        Assert.assertEquals(2, roleServiceImpl.findAll().size());
+        Mockito.verify(roleRepository, Mockito.times(1)).findAll();
+
+    }
+
+    @Test
+    public void testFindByRoleNameReloadsOnUnknownRole() {
+        ReflectionTestUtils.setField(roleServiceImpl, "minRefreshIntervalMs", 0L);
+        roles.add(new Role().builder().id(3L).roleName("AUDITOR").description("Auditor").build());
+
+        Role role = roleServiceImpl.findByRoleName("AUDITOR");
+
+        Assert.assertEquals(Long.valueOf(3L), role.getId());
+        Mockito.verify(roleRepository, Mockito.times(2)).findAll();
+
+    }
+
+    @Test
+    public void testFindByRoleNameWithUnknownRoleDoesNotReloadWithinInterval() {
+        expectedException.expect(ServiceException.class);
+        expectedException.expectMessage(StatusConstants.HttpConstants.ROLE_IS_NOT_FOUND.getDesc());
+
+        try {
+            roleServiceImpl.findByRoleName("UNKNOWN");
+        } finally {
+            Mockito.verify(roleRepository, Mockito.times(1)).findAll();
+        }
+
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.demo.springboot.employee.unit.util;
+
+import com.demo.springboot.employee.util.VirtualThreadUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class VirtualThreadUtilsTest {
+
+    @Test
+    public void testIsSupportedFromJava21() {
+        String version = System.getProperty("java.specification.version");
+        boolean java21 = !version.startsWith("1.") && Integer.parseInt(version) >= 21;
+
+        Assert.assertEquals(java21, VirtualThreadUtils.isSupported());
+    }
+
+    @Test
+    public void testExecutorRunsTasksOnNamedVirtualThreads() throws Exception {
+        if (!VirtualThreadUtils.isSupported()) {
+            try {
+                VirtualThreadUtils.newVirtualThreadPerTaskExecutor("test-");
+                Assert.fail();
+            } catch (IllegalStateException e) {
+                Assert.assertTrue(e.getMessage().contains("Java 21"));
+            }
+            return;
+        }
+        ExecutorService executorService = VirtualThreadUtils.newVirtualThreadPerTaskExecutor("test-");
+        try {
+            Thread thread = executorService.submit(Thread::currentThread).get(10, TimeUnit.SECONDS);
+
+            Assert.assertEquals("test-0", thread.getName());
+            Assert.assertEquals(Boolean.TRUE, Thread.class.getMethod("isVirtual").invoke(thread));
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+}